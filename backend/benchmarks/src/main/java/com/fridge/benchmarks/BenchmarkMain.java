@@ -0,0 +1,44 @@
+package com.fridge.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * JMH 실행 진입점 (benchmarks.jar Main-Class). 명령줄은 JMH 그대로이고 두 가지만 기본으로 켬:
+ * -prof gc(호출당 할당 바이트), JSON 결과 파일(jmh-results/yyyyMMdd-HHmmss.json, -rff로 바꿀 수 있음).
+ * 커밋 간 비교: CompareResults.
+ */
+public final class BenchmarkMain {
+
+    private static final String RESULTS_DIR = "jmh-results";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(cmd);
+        boolean gcProfiler = cmd.getProfilers().stream()
+                .anyMatch(p -> p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcProfiler) options.addProfiler(GCProfiler.class);
+        if (!cmd.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cmd.getResult().hasValue()) {
+            new File(RESULTS_DIR).mkdirs();
+            options.result(RESULTS_DIR + "/" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,44 @@
+package com.fridge.benchmarks;
+
+import com.fridge.FridgeMenuApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 벤치마크용 백엔드 컨텍스트 (웹 서버 없음). 카탈로그 적재(data.sql + 시드)를 기동 스레드에서 끝낸 뒤 반환.
+ * 외부 API 키·미리 채우기·파일 캐시는 모두 끔 (application-local.properties에 키가 있어도 호출하지 않도록).
+ * 설정은 명령줄 인자로 넘김 (기본 속성은 application.properties보다 우선순위가 낮음). -D 시스템 속성보다도 우선.
+ */
+final class CatalogContext {
+
+    private CatalogContext() {
+    }
+
+    /** seedMode: none(data.sql 10개만) | stored | virtual */
+    static ConfigurableApplicationContext start(String seedMode, Map<String, Object> overrides) {
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("spring.main.banner-mode", "off");
+        props.put("logging.level.root", "WARN");
+        props.put("spring.h2.console.enabled", "false");
+        props.put("app.startup.background-catalog", "false");
+        props.put("app.startup.warmup.enabled", "false");
+        props.put("app.catalog.snapshot.file", "");
+        props.put("app.recipe.seed.enabled", String.valueOf(!"none".equals(seedMode)));
+        props.put("app.recipe.seed.mode", "none".equals(seedMode) ? "virtual" : seedMode);
+        props.put("app.youtube.api-key", "");
+        props.put("app.spoonacular.api-key", "");
+        props.put("app.youtube.prefetch.enabled", "false");
+        props.put("app.youtube.search-cache.file", "");
+        props.put("app.youtube.steps-cache.dir", "");
+        props.put("app.quota.ledger.type", "memory");
+        props.putAll(overrides);
+        String[] args = props.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+        return new SpringApplicationBuilder(FridgeMenuApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+}
@@ -0,0 +1,70 @@
+package com.fridge.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 두 JMH JSON 결과 비교 (벤치마크 + 파라미터별 점수·호출당 할당 바이트, 변화율).
+ *   java -cp target/benchmarks.jar com.fridge.benchmarks.CompareResults before.json after.json
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: CompareResults <before.json> <after.json>");
+            System.exit(2);
+        }
+        Map<String, Row> before = read(new File(args[0]));
+        Map<String, Row> after = read(new File(args[1]));
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "benchmark", "before", "after", "change", "B/op before", "B/op after", "change");
+        TreeMap<String, Row> keys = new TreeMap<>(before);
+        after.forEach(keys::putIfAbsent);
+        for (String key : keys.keySet()) {
+            Row b = before.get(key);
+            Row a = after.get(key);
+            System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n", key,
+                    b != null ? format(b.score()) + " " + b.unit() : "-",
+                    a != null ? format(a.score()) + " " + a.unit() : "-",
+                    change(b != null ? b.score() : null, a != null ? a.score() : null),
+                    b != null ? format(b.allocPerOp()) : "-",
+                    a != null ? format(a.allocPerOp()) : "-",
+                    change(b != null ? b.allocPerOp() : null, a != null ? a.allocPerOp() : null));
+        }
+    }
+
+    private static Map<String, Row> read(File file) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText().replace("com.fridge.benchmarks.", ""));
+            run.path("params").fields().forEachRemaining(e -> key.append(' ').append(e.getKey()).append('=').append(e.getValue().asText()));
+            JsonNode primary = run.path("primaryMetric");
+            JsonNode alloc = run.path("secondaryMetrics").path("gc.alloc.rate.norm");
+            rows.put(key.toString(), new Row(primary.path("score").asDouble(), primary.path("scoreUnit").asText(),
+                    alloc.isMissingNode() ? null : alloc.path("score").asDouble()));
+        }
+        return rows;
+    }
+
+    private static String format(Double v) {
+        if (v == null) return "-";
+        return Math.abs(v) >= 100 ? String.format("%.0f", v) : String.format("%.3f", v);
+    }
+
+    private static String change(Double before, Double after) {
+        if (before == null || after == null || before == 0) return "-";
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+
+    private record Row(double score, String unit, Double allocPerOp) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.fridge.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/** 유튜브 json3 자막과 같은 모양의 합성 데이터 (요리 영상 자막 문구 조합) */
+final class Json3Fixtures {
+
+    private static final String[] WORDS = {
+            "양파를", "잘게", "썰어", "주세요", "팬에", "기름을", "두르고", "중불에서", "볶아", "줍니다",
+            "간장", "두", "스푼", "넣고", "설탕도", "조금", "마늘을", "다져서", "넣어요", "끓기", "시작하면",
+            "대파를", "송송", "썰어서", "올려", "마무리합니다", "이렇게", "하면", "훨씬", "맛있어요"
+    };
+
+    private Json3Fixtures() {
+    }
+
+    static byte[] transcript(int events, long seed) {
+        Random random = new Random(seed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(events * 120);
+        try (JsonGenerator g = new JsonFactory().createGenerator(out)) {
+            g.writeStartObject();
+            g.writeNumberField("wireMagic", 1);
+            g.writeArrayFieldStart("pens");
+            g.writeStartObject();
+            g.writeEndObject();
+            g.writeEndArray();
+            g.writeArrayFieldStart("events");
+            long t = 0;
+            for (int i = 0; i < events; i++) {
+                g.writeStartObject();
+                g.writeNumberField("tStartMs", t);
+                g.writeNumberField("dDurationMs", 1500 + random.nextInt(2000));
+                g.writeNumberField("wWinId", 1);
+                if (i % 7 == 6) {
+                    // 줄바꿈만 있는 이벤트 (json3에 흔함)
+                    g.writeNumberField("aAppend", 1);
+                    g.writeArrayFieldStart("segs");
+                    g.writeStartObject();
+                    g.writeStringField("utf8", "\n");
+                    g.writeEndObject();
+                    g.writeEndArray();
+                } else {
+                    g.writeArrayFieldStart("segs");
+                    int segs = 1 + random.nextInt(4);
+                    for (int s = 0; s < segs; s++) {
+                        g.writeStartObject();
+                        g.writeStringField("utf8", (s > 0 ? " " : "") + WORDS[random.nextInt(WORDS.length)]);
+                        if (s > 0) g.writeNumberField("tOffsetMs", s * 320);
+                        g.writeNumberField("acAsrConf", random.nextInt(256));
+                        g.writeEndObject();
+                    }
+                    g.writeEndArray();
+                }
+                g.writeEndObject();
+                t += 2000;
+            }
+            g.writeEndArray();
+            g.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
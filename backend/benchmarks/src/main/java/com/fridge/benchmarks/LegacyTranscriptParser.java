@@ -0,0 +1,70 @@
+package com.fridge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/** 비교 기준: 이전 YoutubeTranscriptService 방식 (Map 트리 → 줄 목록 → 단계) */
+final class LegacyTranscriptParser {
+
+    private final ObjectMapper objectMapper;
+    private final int maxSteps;
+    private final int minCharsPerStep;
+
+    LegacyTranscriptParser(ObjectMapper objectMapper, int maxSteps, int minCharsPerStep) {
+        this.objectMapper = objectMapper;
+        this.maxSteps = maxSteps;
+        this.minCharsPerStep = minCharsPerStep;
+    }
+
+    @SuppressWarnings("unchecked")
+    List<String> parse(InputStream in) throws IOException {
+        Map<String, Object> body = objectMapper.readValue(in, Map.class);
+        if (body == null) return List.of();
+        Object eventsObj = body.get("events");
+        if (!(eventsObj instanceof List)) return List.of();
+        List<String> lines = new ArrayList<>();
+        for (Object ev : (List<?>) eventsObj) {
+            if (!(ev instanceof Map)) continue;
+            Map<String, Object> event = (Map<String, Object>) ev;
+            Object segsObj = event.get("segs");
+            if (!(segsObj instanceof List)) continue;
+            StringBuilder line = new StringBuilder();
+            for (Object s : (List<?>) segsObj) {
+                if (!(s instanceof Map)) continue;
+                String utf8 = (String) ((Map<String, Object>) s).get("utf8");
+                if (utf8 != null && !utf8.isBlank() && !"\n".equals(utf8)) {
+                    line.append(utf8.trim());
+                }
+            }
+            if (line.length() > 0) lines.add(line.toString());
+        }
+        return organizeIntoSteps(lines);
+    }
+
+    private List<String> organizeIntoSteps(List<String> rawLines) {
+        List<String> merged = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : rawLines) {
+            String t = line.trim();
+            if (t.isEmpty()) continue;
+            if (current.length() > 0) current.append(" ");
+            current.append(t);
+            if (current.length() >= minCharsPerStep || t.endsWith(".") || t.endsWith("요") || t.endsWith("다")) {
+                merged.add(current.toString().trim());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) merged.add(current.toString().trim());
+
+        return merged.stream()
+                .filter(s -> s.length() >= 5)
+                .limit(maxSteps)
+                .collect(Collectors.toList());
+    }
+}
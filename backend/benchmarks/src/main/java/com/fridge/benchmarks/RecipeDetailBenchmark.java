@@ -0,0 +1,84 @@
+package com.fridge.benchmarks;
+
+import com.fridge.dto.RecipeDetailDto;
+import com.fridge.service.RecipeDetailService;
+import com.fridge.service.SyntheticRecipeCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레시피 상세 조립(영상 제외): stored는 쿼리 1번(findDetailRows) + DTO 조립, virtual은 id에서 계산.
+ * cacheEntries=1이면 사실상 캐시 없이 매번 조회, 2000(기본 설정)이면 앞쪽 id는 캐시 적중.
+ * id는 고정 시드로 뽑은 1,024개를 돌려 가며 사용.
+ * 힙 512MB: stored 카탈로그는 256MB 힙에서 GC만 돌다 끝남 (그래서 운영 기본이 virtual).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecipeDetailBenchmark {
+
+    private static final int IDS = 1024;
+
+    @Param({"stored", "virtual"})
+    public String mode;
+
+    @Param({"1", "2000"})
+    public int cacheEntries;
+
+    private ConfigurableApplicationContext context;
+    private RecipeDetailService detailService;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogContext.start(mode, Map.of("app.recipe.detail-cache.max-entries", String.valueOf(cacheEntries)));
+        detailService = context.getBean(RecipeDetailService.class);
+        long first;
+        long count;
+        if ("virtual".equals(mode)) {
+            first = SyntheticRecipeCatalog.VIRTUAL_ID_BASE;
+            count = (long) context.getBean(SyntheticRecipeCatalog.class).comboCount() * SyntheticRecipeCatalog.RECIPES_PER_COMBO;
+        } else {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            first = jdbc.queryForObject("SELECT MIN(id) FROM recipes", Long.class);
+            count = jdbc.queryForObject("SELECT MAX(id) FROM recipes", Long.class) - first + 1;
+        }
+        Random random = new Random(42);
+        ids = new long[IDS];
+        for (int i = 0; i < IDS; i++) ids[i] = first + (long) (random.nextDouble() * count);
+        if (detailService.getDetailWithoutVideo(ids[0]) == null) {
+            throw new IllegalStateException("레시피 상세 없음 (mode=" + mode + ", id=" + ids[0] + ")");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeDetailDto detail() {
+        return detailService.getDetailWithoutVideo(ids[next++ & (IDS - 1)]);
+    }
+}
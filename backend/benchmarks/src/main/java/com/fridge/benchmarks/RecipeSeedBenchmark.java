@@ -0,0 +1,81 @@
+package com.fridge.benchmarks;
+
+import com.fridge.config.RecipeSeedLoader;
+import com.fridge.entity.Ingredient;
+import com.fridge.repository.IngredientRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RecipeSeedLoader.runSeed 전체 (조합 생성 → 열 배열 → H2 UNNEST 적재 → 카탈로그 변경 이벤트로 인덱스 재구성).
+ * 호출마다 data.sql 상태로 되돌린 뒤 1회 측정 (SingleShotTime). 시간 대비 할당은 -prof gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class RecipeSeedBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private RecipeSeedLoader seedLoader;
+    private JdbcTemplate jdbc;
+    private List<Ingredient> ingredients;
+    private long baseRecipes;
+    private long baseRecipeIngredients;
+    private long baseRecipeSteps;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogContext.start("none", Map.of());
+        seedLoader = context.getBean(RecipeSeedLoader.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        ingredients = context.getBean(IngredientRepository.class).findAllByOrderByNameAsc();
+        baseRecipes = maxId("recipes");
+        baseRecipeIngredients = maxId("recipe_ingredients");
+        baseRecipeSteps = maxId("recipe_steps");
+    }
+
+    /** 시드 행을 지우고 id 시퀀스를 data.sql 직후로 되돌림 (측정 밖) */
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbc.update("DELETE FROM recipe_steps WHERE id > ?", baseRecipeSteps);
+        jdbc.update("DELETE FROM recipe_ingredients WHERE id > ?", baseRecipeIngredients);
+        jdbc.update("DELETE FROM recipes WHERE id > ?", baseRecipes);
+        jdbc.execute("ALTER TABLE recipe_steps ALTER COLUMN id RESTART WITH " + (baseRecipeSteps + 1));
+        jdbc.execute("ALTER TABLE recipe_ingredients ALTER COLUMN id RESTART WITH " + (baseRecipeIngredients + 1));
+        jdbc.execute("ALTER TABLE recipes ALTER COLUMN id RESTART WITH " + (baseRecipes + 1));
+        System.gc();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void runSeed() {
+        seedLoader.runSeed(ingredients);
+    }
+
+    private long maxId(String table) {
+        return jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.fridge.benchmarks;
+
+import com.fridge.dto.RecipeDto;
+import com.fridge.entity.Ingredient;
+import com.fridge.repository.IngredientRepository;
+import com.fridge.service.RecipeRecommendService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 레시피 추천(유튜브 검색 제외): 시드 카탈로그에서 재료 1~5개, strict(모두 보유) / 비strict(하나라도 사용).
+ * 재료 조합은 고정 시드로 미리 만든 64개를 돌려 가며 사용.
+ * 힙 512MB: stored 카탈로그는 256MB 힙에서 GC만 돌다 끝남 (그래서 운영 기본이 virtual).
+ *   java -jar target/benchmarks.jar Recommend -p mode=stored
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecommendBenchmark {
+
+    private static final int SETS = 64;
+
+    /** virtual: 가상 카탈로그(기본 설정) | stored: 시드를 DB에 적재 */
+    @Param({"virtual", "stored"})
+    public String mode;
+
+    @Param({"true", "false"})
+    public boolean strict;
+
+    @Param({"1", "2", "3", "4", "5"})
+    public int ingredients;
+
+    /** 비우면 무작위 추천, 숫자면 일치도 순 (부족 재료 최대 개수) */
+    @Param({""})
+    public String maxMissing;
+
+    private ConfigurableApplicationContext context;
+    private RecipeRecommendService recommendService;
+    private List<Set<Long>> sets;
+    private Integer maxMissingValue;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogContext.start(mode, Map.of());
+        recommendService = context.getBean(RecipeRecommendService.class);
+        List<Long> ids = new ArrayList<>(context.getBean(IngredientRepository.class).findAllByOrderByNameAsc()
+                .stream().map(Ingredient::getId).toList());
+        Random random = new Random(42);
+        sets = new ArrayList<>(SETS);
+        for (int i = 0; i < SETS; i++) {
+            Collections.shuffle(ids, random);
+            sets.add(new LinkedHashSet<>(ids.subList(0, Math.min(ingredients, ids.size()))));
+        }
+        maxMissingValue = maxMissing.isBlank() ? null : Integer.valueOf(maxMissing.trim());
+        if (recommendService.recommendRecipes(sets.get(0), false, null).isEmpty()) {
+            throw new IllegalStateException("카탈로그가 비어 있음 (mode=" + mode + ")");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RecipeDto> recommend() {
+        Set<Long> selected = sets.get(next++ & (SETS - 1));
+        return recommendService.recommendRecipes(selected, strict, maxMissingValue);
+    }
+}
@@ -0,0 +1,94 @@
+package com.fridge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridge.service.DescriptionStepParser;
+import com.fridge.service.Json3TranscriptReader;
+import com.fridge.service.TranscriptStepOrganizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장해 둔 응답(src/main/resources/fixtures)으로 자막 → 단계, 영상 설명 → 단계.
+ * TranscriptParseBenchmark(합성 데이터, 크기별)와 달리 실제 응답 모양 그대로 (pb3 헤더, 줄바꿈 이벤트, [음악] 등).
+ * fixture를 추가하면 @Param에 파일 이름을 넣거나 -p json3=파일 로 지정.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecordedTranscriptBenchmark {
+
+    /** YoutubeTranscriptService와 같은 값 */
+    private static final int MAX_STEPS = 50;
+    private static final int MIN_CHARS_PER_STEP = 15;
+    private static final int MIN_DESC_STEP_LENGTH = 10;
+
+    @State(Scope.Benchmark)
+    public static class Json3 {
+
+        @Param({"kimchi-jjigae.json3"})
+        public String json3;
+
+        byte[] bytes;
+        ObjectMapper objectMapper;
+
+        @Setup
+        public void setUp() {
+            bytes = fixture(json3);
+            objectMapper = new ObjectMapper();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Description {
+
+        @Param({"description-numbered-lines.txt", "description-single-line.txt"})
+        public String description;
+
+        String text;
+
+        @Setup
+        public void setUp() {
+            text = new String(fixture(description), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<String> transcriptSteps(Json3 state) throws IOException {
+        TranscriptStepOrganizer organizer = new TranscriptStepOrganizer(MAX_STEPS, MIN_CHARS_PER_STEP);
+        Json3TranscriptReader.read(state.objectMapper.getFactory(), new ByteArrayInputStream(state.bytes), organizer);
+        return organizer.finish();
+    }
+
+    @Benchmark
+    public List<String> descriptionSteps(Description state) {
+        return DescriptionStepParser.parse(state.text, MAX_STEPS, MIN_DESC_STEP_LENGTH);
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream in = RecordedTranscriptBenchmark.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) throw new IllegalArgumentException("fixture 없음: " + name);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.fridge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridge.service.Json3TranscriptReader;
+import com.fridge.service.TranscriptStepOrganizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * json3 자막 → 레시피 단계: Map 트리(이전) vs JsonParser 스트리밍.
+ * 할당량 비교는 -prof gc (gc.alloc.rate.norm = 호출당 할당 바이트).
+ *   java -jar target/benchmarks.jar TranscriptParse -prof gc
+ * streamingAllSteps는 단계 수 상한 없이 끝까지 읽는 경우 (파싱 비용만 비교).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TranscriptParseBenchmark {
+
+    /** YoutubeTranscriptService와 같은 값 */
+    private static final int MAX_STEPS = 50;
+    private static final int MIN_CHARS_PER_STEP = 15;
+
+    @Param({"2000", "20000"})
+    public int events;
+
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+    private LegacyTranscriptParser legacy;
+
+    @Setup
+    public void setUp() {
+        payload = Json3Fixtures.transcript(events, 42);
+        objectMapper = new ObjectMapper();
+        legacy = new LegacyTranscriptParser(objectMapper, MAX_STEPS, MIN_CHARS_PER_STEP);
+    }
+
+    @Benchmark
+    public List<String> mapTree() throws IOException {
+        return legacy.parse(new ByteArrayInputStream(payload));
+    }
+
+    @Benchmark
+    public List<String> streaming() throws IOException {
+        TranscriptStepOrganizer organizer = new TranscriptStepOrganizer(MAX_STEPS, MIN_CHARS_PER_STEP);
+        Json3TranscriptReader.read(objectMapper.getFactory(), new ByteArrayInputStream(payload), organizer);
+        return organizer.finish();
+    }
+
+    @Benchmark
+    public List<String> streamingAllSteps() throws IOException {
+        TranscriptStepOrganizer organizer = new TranscriptStepOrganizer(Integer.MAX_VALUE, MIN_CHARS_PER_STEP);
+        Json3TranscriptReader.read(objectMapper.getFactory(), new ByteArrayInputStream(payload), organizer);
+        return organizer.finish();
+    }
+}
@@ -0,0 +1,65 @@
+package com.fridge.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 스텁 응답 지연 분포. none | fixed:ms | uniform:최소ms:최대ms | lognormal:중앙값ms:p99ms
+ * (lognormal은 중앙값과 p99로 sigma를 정함: 외부 API 지연처럼 꼬리가 긴 분포)
+ */
+final class LatencyModel {
+
+    /** 표준정규분포 99번째 백분위 */
+    private static final double Z_99 = 2.3263;
+
+    private final String kind;
+    private final double a;
+    private final double b;
+
+    private LatencyModel(String kind, double a, double b) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    static LatencyModel parse(String spec) {
+        String[] parts = spec.trim().split(":");
+        try {
+            return switch (parts[0]) {
+                case "none" -> new LatencyModel("none", 0, 0);
+                case "fixed" -> new LatencyModel("fixed", Double.parseDouble(parts[1]), 0);
+                case "uniform" -> new LatencyModel("uniform", Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                case "lognormal" -> {
+                    double median = Double.parseDouble(parts[1]);
+                    double p99 = Double.parseDouble(parts[2]);
+                    if (median <= 0 || p99 < median) throw new IllegalArgumentException("0 < 중앙값 <= p99 이어야 함");
+                    yield new LatencyModel("lognormal", median, Math.log(p99 / median) / Z_99);
+                }
+                default -> throw new IllegalArgumentException("알 수 없는 분포: " + parts[0]);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("지연 설정 형식 오류: " + spec, e);
+        }
+    }
+
+    /** 이번 응답 지연(ms) */
+    long sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double ms = switch (kind) {
+            case "fixed" -> a;
+            case "uniform" -> a + random.nextDouble() * (b - a);
+            case "lognormal" -> a * Math.exp(b * random.nextGaussian());
+            default -> 0;
+        };
+        return Math.max(0, Math.round(ms));
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case "fixed" -> "fixed:" + (long) a;
+            case "uniform" -> "uniform:" + (long) a + ":" + (long) b;
+            case "lognormal" -> "lognormal:" + (long) a + ":" + Math.round(a * Math.exp(b * Z_99));
+            default -> "none";
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.fridge.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 엔드포인트 하나의 응답 시간(µs)을 모두 저장해 끝난 뒤 정렬해서 백분위 계산.
+ * 부하 테스트 한 번의 요청 수(수만~수십만)면 배열로 충분하고, 히스토그램 버킷 오차가 없음.
+ */
+final class LatencyRecorder {
+
+    private long[] micros = new long[4096];
+    private int size;
+    private long errors;
+    private long degraded;
+    /** 상태 코드(오류는 "timeout"·"io" 등)별 개수 */
+    private final Map<String, Long> outcomes = new TreeMap<>();
+
+    synchronized void record(long latencyMicros, String outcome, boolean error, boolean isDegraded) {
+        if (size == micros.length) micros = Arrays.copyOf(micros, size * 2);
+        micros[size++] = latencyMicros;
+        if (error) errors++;
+        if (isDegraded) degraded++;
+        outcomes.merge(outcome, 1L, Long::sum);
+    }
+
+    synchronized Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(micros, size);
+        Arrays.sort(sorted);
+        return new Summary(size, errors, degraded, seconds > 0 ? size / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                size > 0 ? sorted[size - 1] / 1000.0 : 0, new TreeMap<>(outcomes));
+    }
+
+    /** nearest-rank 백분위 (ms) */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1000.0;
+    }
+
+    record Summary(long requests, long errors, long degraded, double throughput,
+                   double p50Ms, double p95Ms, double p99Ms, double maxMs, Map<String, Long> outcomes) {
+    }
+}
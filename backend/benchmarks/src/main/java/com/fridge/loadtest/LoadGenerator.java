@@ -0,0 +1,368 @@
+package com.fridge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 백엔드 HTTP 부하 생성기. 엔드포인트별 처리량과 p50/p95/p99를 출력.
+ *   java -cp target/benchmarks.jar com.fridge.loadtest.LoadGenerator [--옵션=값 ...]
+ * - closed: 사용자 N명이 응답을 받은 뒤 think-ms 쉬고 다음 요청 (서버가 느려지면 요청도 줄어듦)
+ * - open: 초당 rate개를 도착 간격(fixed | poisson)대로 보냄. 응답 시간은 예정 시각부터 재서
+ *   서버가 밀려 늦게 보낸 시간까지 포함 (coordinated omission 방지). 동시 요청이 max-in-flight를 넘으면 보내지 않고 dropped로 셈
+ * 외부 API 스텁을 같은 프로세스에서 띄우려면 --with-stub (앱은 loadtest 프로필)
+ */
+public final class LoadGenerator {
+
+    static final String RECOMMEND = "recommend";
+    static final String DETAIL = "detail";
+    static final String RECIPE_STEPS = "recipe-steps";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("base-url", "http://127.0.0.1:8080");
+        DEFAULTS.put("mode", "closed");
+        DEFAULTS.put("users", "8");
+        DEFAULTS.put("think-ms", "0");
+        DEFAULTS.put("rate", "20");
+        DEFAULTS.put("arrival", "poisson");
+        DEFAULTS.put("max-in-flight", "256");
+        DEFAULTS.put("warmup", "10s");
+        DEFAULTS.put("duration", "60s");
+        DEFAULTS.put("timeout", "15s");
+        DEFAULTS.put("mix", "recommend:5,detail:4,recipe-steps:1");
+        // 추천: 재료 id 1~ingredients 중 1~max-ingredients개, strictOnly는 반반
+        DEFAULTS.put("ingredients", "36");
+        DEFAULTS.put("max-ingredients", "3");
+        // 상세: 범위 하나를 고른 뒤 그 안에서 균등 (기본: data.sql 10개 + virtual 시드 전체)
+        DEFAULTS.put("detail-ids", "1-10,1000000000-1000078059");
+        // 이 비율만큼 외부(Spoonacular, 음수 id) 상세. id는 1~external-ids
+        DEFAULTS.put("external-detail-ratio", "0.05");
+        DEFAULTS.put("external-ids", "1000");
+        // 레시피 순서: 영상 id 풀 크기 (스텁 검색 결과와 같은 lt + 9자리 형식)
+        DEFAULTS.put("videos", "2000");
+        DEFAULTS.put("with-stub", "false");
+        DEFAULTS.put("stub-port", String.valueOf(StubServer.DEFAULT_PORT));
+        DEFAULTS.put("stub-config", "");
+        DEFAULTS.put("json", "");
+    }
+
+    private final Map<String, String> options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final Duration timeout;
+    private final List<String> endpoints = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private final List<long[]> detailRanges = new ArrayList<>();
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private LoadGenerator(Map<String, String> options, ExecutorService clientExecutor) {
+        this.options = options;
+        this.baseUrl = options.get("base-url").replaceAll("/+$", "");
+        this.timeout = parseDuration(options.get("timeout"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        int total = 0;
+        for (String part : options.get("mix").split(",")) {
+            String[] kv = part.trim().split(":");
+            if (!List.of(RECOMMEND, DETAIL, RECIPE_STEPS).contains(kv[0])) throw new IllegalArgumentException("알 수 없는 엔드포인트: " + kv[0]);
+            int weight = kv.length > 1 ? Integer.parseInt(kv[1]) : 1;
+            if (weight <= 0) continue;
+            total += weight;
+            endpoints.add(kv[0]);
+            cumulativeWeights.add(total);
+            recorders.put(kv[0], new LatencyRecorder());
+        }
+        if (endpoints.isEmpty()) throw new IllegalArgumentException("mix가 비어 있음");
+        for (String range : options.get("detail-ids").split(",")) {
+            String[] lohi = range.trim().split("-");
+            long lo = Long.parseLong(lohi[0]);
+            detailRanges.add(new long[]{lo, lohi.length > 1 ? Long.parseLong(lohi[1]) : lo});
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = arg.startsWith("--") ? (eq > 0 ? arg.substring(2, eq) : arg.substring(2)) : null;
+            if (key == null || !DEFAULTS.containsKey(key)) {
+                System.err.println("usage: LoadGenerator [--옵션=값 ...]");
+                DEFAULTS.forEach((k, v) -> System.err.println("  --" + k + "=" + v));
+                System.exit(2);
+            }
+            options.put(key, eq > 0 ? arg.substring(eq + 1) : "true");
+        }
+
+        StubServer stub = null;
+        if (Boolean.parseBoolean(options.get("with-stub"))) {
+            Properties stubConfig = new Properties();
+            if (!options.get("stub-config").isBlank()) {
+                try (var reader = Files.newBufferedReader(new File(options.get("stub-config")).toPath(), StandardCharsets.UTF_8)) {
+                    stubConfig.load(reader);
+                }
+            }
+            stub = StubServer.start(Integer.parseInt(options.get("stub-port")), stubConfig);
+            System.out.println("stub server: http://127.0.0.1:" + stub.port());
+            System.out.print(stub.describe());
+        }
+
+        ExecutorService clientExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "loadgen-http");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            LoadGenerator generator = new LoadGenerator(options, clientExecutor);
+            generator.awaitReady();
+            Map<String, Object> report = generator.run(stub);
+            String json = options.get("json");
+            if (!json.isBlank()) {
+                File file = new File(json);
+                if (file.getParentFile() != null) file.getParentFile().mkdirs();
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+                System.out.println("결과: " + file.getPath());
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+            if (stub != null) stub.stop();
+        }
+    }
+
+    /** /api/ready가 200이 될 때까지 (카탈로그 적재 전이면 503) */
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/ready")).timeout(Duration.ofSeconds(5)).GET().build();
+        while (true) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) return;
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            if (System.nanoTime() > deadline) throw new IllegalStateException(baseUrl + "/api/ready 가 120초 안에 200이 되지 않음");
+            Thread.sleep(500);
+        }
+    }
+
+    private Map<String, Object> run(StubServer stub) throws InterruptedException {
+        String mode = options.get("mode");
+        long warmupNanos = parseDuration(options.get("warmup")).toNanos();
+        long durationNanos = parseDuration(options.get("duration")).toNanos();
+        long start = System.nanoTime();
+        long measureStart = start + warmupNanos;
+        long end = measureStart + durationNanos;
+        System.out.printf("mode=%s %s warmup=%s duration=%s mix=%s -> %s%n", mode,
+                "open".equals(mode) ? "rate=" + options.get("rate") + "/s arrival=" + options.get("arrival")
+                        : "users=" + options.get("users") + " think-ms=" + options.get("think-ms"),
+                options.get("warmup"), options.get("duration"), options.get("mix"), baseUrl);
+
+        Thread stubReset = null;
+        if (stub != null) {
+            // 예열 동안의 외부 호출은 빼고 셈
+            stubReset = new Thread(() -> {
+                LockSupport.parkNanos(Math.max(0, measureStart - System.nanoTime()));
+                stub.resetStats();
+            }, "stub-reset");
+            stubReset.setDaemon(true);
+            stubReset.start();
+        }
+        switch (mode) {
+            case "closed" -> runClosed(measureStart, end);
+            case "open" -> runOpen(measureStart, end);
+            default -> throw new IllegalArgumentException("mode는 closed | open");
+        }
+        if (stubReset != null) stubReset.join();
+        return report(durationNanos / 1e9, stub);
+    }
+
+    private void runClosed(long measureStart, long end) throws InterruptedException {
+        int users = Integer.parseInt(options.get("users"));
+        long thinkMs = Long.parseLong(options.get("think-ms"));
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Thread t = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    String endpoint = pickEndpoint();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(buildRequest(endpoint), HttpResponse.BodyHandlers.ofString());
+                        record(endpoint, sent, measureStart, end, response, null);
+                    } catch (IOException e) {
+                        record(endpoint, sent, measureStart, end, null, e);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (thinkMs > 0) LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(thinkMs));
+                }
+            }, "loadgen-user-" + i);
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) t.join();
+    }
+
+    private void runOpen(long measureStart, long end) throws InterruptedException {
+        double rate = Double.parseDouble(options.get("rate"));
+        boolean poisson = "poisson".equals(options.get("arrival"));
+        int maxInFlight = Integer.parseInt(options.get("max-in-flight"));
+        AtomicInteger inFlight = new AtomicInteger();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double meanGapNanos = 1e9 / rate;
+        long next = System.nanoTime();
+        while (true) {
+            next += (long) (poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos);
+            if (next >= end) break;
+            long wait = next - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            String endpoint = pickEndpoint();
+            if (inFlight.get() >= maxInFlight) {
+                if (next >= measureStart) dropped.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            long intended = next;
+            client.sendAsync(buildRequest(endpoint), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        record(endpoint, intended, measureStart, end, response, error);
+                        inFlight.decrementAndGet();
+                    });
+        }
+        long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) Thread.sleep(20);
+    }
+
+    /** 예정(보낸) 시각이 측정 구간 안인 요청만 기록 */
+    private void record(String endpoint, long sentNanos, long measureStart, long end,
+                        HttpResponse<String> response, Throwable error) {
+        long latencyMicros = (System.nanoTime() - sentNanos) / 1000;
+        if (sentNanos < measureStart || sentNanos >= end) return;
+        LatencyRecorder recorder = recorders.get(endpoint);
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            recorder.record(latencyMicros, cause instanceof HttpTimeoutException ? "timeout" : "io", true, false);
+            return;
+        }
+        int status = response.statusCode();
+        recorder.record(latencyMicros, String.valueOf(status), status >= 400, status < 400 && isDegraded(endpoint, response.body()));
+    }
+
+    /** 응답은 왔지만 외부 API 결과가 빠진 경우 (추천: 유튜브 사유 있음, 순서: 단계 없음) */
+    private static boolean isDegraded(String endpoint, String body) {
+        if (body == null) return false;
+        return switch (endpoint) {
+            case RECOMMEND -> body.contains("\"youtubeErrorReason\":\"");
+            case RECIPE_STEPS -> body.contains("\"steps\":[]");
+            default -> false;
+        };
+    }
+
+    private String pickEndpoint() {
+        int total = cumulativeWeights.get(cumulativeWeights.size() - 1);
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < endpoints.size(); i++) {
+            if (roll < cumulativeWeights.get(i)) return endpoints.get(i);
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    private HttpRequest buildRequest(String endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case RECOMMEND -> {
+                int ingredients = Integer.parseInt(options.get("ingredients"));
+                int count = 1 + random.nextInt(Math.min(ingredients, Integer.parseInt(options.get("max-ingredients"))));
+                long[] ids = random.longs(1, ingredients + 1).distinct().limit(count).toArray();
+                StringBuilder body = new StringBuilder("{\"ingredientIds\":[");
+                for (int i = 0; i < ids.length; i++) body.append(i > 0 ? "," : "").append(ids[i]);
+                body.append("],\"strictOnly\":").append(random.nextBoolean()).append('}');
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/recipes/recommend"))
+                        .timeout(timeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                        .build();
+            }
+            case DETAIL -> {
+                long id;
+                if (random.nextDouble() < Double.parseDouble(options.get("external-detail-ratio"))) {
+                    id = -(1 + random.nextLong(Long.parseLong(options.get("external-ids"))));
+                } else {
+                    long[] range = detailRanges.get(random.nextInt(detailRanges.size()));
+                    id = range[0] + random.nextLong(range[1] - range[0] + 1);
+                }
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/recipes/" + id + "/detail")).timeout(timeout).GET().build();
+            }
+            default -> {
+                String videoId = String.format("lt%09d", random.nextInt(Integer.parseInt(options.get("videos"))));
+                yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/youtube/" + videoId + "/recipe-steps?title=loadtest"))
+                        .timeout(timeout).GET().build();
+            }
+        };
+    }
+
+    private Map<String, Object> report(double seconds, StubServer stub) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        Map<String, Object> results = new LinkedHashMap<>();
+        System.out.printf("%n%-14s %9s %8s %9s %9s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "degraded", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        for (Map.Entry<String, LatencyRecorder> e : recorders.entrySet()) {
+            LatencyRecorder.Summary s = e.getValue().summarize(seconds);
+            totalRequests += s.requests();
+            results.put(e.getKey(), s);
+            System.out.printf("%-14s %9d %8d %9d %9.1f %10.1f %10.1f %10.1f %10.1f%n", e.getKey(),
+                    s.requests(), s.errors(), s.degraded(), s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+            if (s.errors() > 0) System.out.println("               상태별: " + s.outcomes());
+        }
+        System.out.printf("%-14s %9d %8s %9s %9.1f%n", "total", totalRequests, "", "", totalRequests / seconds);
+        report.put("endpoints", results);
+        if ("open".equals(options.get("mode"))) {
+            report.put("dropped", dropped.get());
+            if (dropped.get() > 0) System.out.println("dropped (max-in-flight 초과로 보내지 않음): " + dropped.get());
+        }
+        if (stub != null) {
+            Map<String, Map<String, Long>> stubStats = stub.stats();
+            report.put("stub", stubStats);
+            System.out.println("\n외부 호출 (스텁, 측정 구간)");
+            stubStats.forEach((route, counts) -> System.out.printf("  %-26s %s%n", route, counts));
+        }
+        return report;
+    }
+
+    /** 500ms | 30s | 2m | 숫자만 있으면 초 */
+    static Duration parseDuration(String value) {
+        String v = value.trim();
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+}
@@ -0,0 +1,374 @@
+package com.fridge.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * YouTube(Data API·watch 페이지·timedtext)와 Spoonacular를 흉내 내는 로컬 HTTP 서버 (부하 테스트용).
+ * 경로별 지연 분포·오류율·할당량 초과를 설정(loadtest/stub.properties)으로 조절하고, 본문은 저장해 둔 응답을 씀.
+ *   java -cp target/benchmarks.jar com.fridge.loadtest.StubServer [--port=18089] [--config=파일] [--route.이름.키=값 ...]
+ * 앱은 loadtest 프로필로 띄움 (application-loadtest.properties). 경로별 호출 수: GET /__stats (?reset=true면 초기화)
+ */
+public final class StubServer {
+
+    public static final int DEFAULT_PORT = 18089;
+
+    static final String YOUTUBE_SEARCH = "youtube-search";
+    static final String YOUTUBE_VIDEOS = "youtube-videos";
+    static final String YOUTUBE_WATCH = "youtube-watch";
+    static final String YOUTUBE_TIMEDTEXT = "youtube-timedtext";
+    static final String SPOONACULAR_INFORMATION = "spoonacular-information";
+    static final String SPOONACULAR_INSTRUCTIONS = "spoonacular-instructions";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String JSON = "application/json; charset=UTF-8";
+    private static final byte[] PAD_UNIT = "<div class=\"ytd-pad\"><span>stub</span></div>\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+    private final JsonNode searchItems;
+    private final byte[] videosBody;
+    private final byte[] timedtextBody;
+    private final JsonNode informationBody;
+    private final byte[] instructionsBody;
+    private final byte[] paddingBefore;
+    private final byte[] paddingAfter;
+    private final double noCaptionsRate;
+
+    private StubServer(int port, Properties config) throws IOException {
+        for (String name : new String[]{YOUTUBE_SEARCH, YOUTUBE_VIDEOS, YOUTUBE_WATCH, YOUTUBE_TIMEDTEXT,
+                SPOONACULAR_INFORMATION, SPOONACULAR_INSTRUCTIONS}) {
+            routes.put(name, new Route(name, config));
+        }
+        searchItems = MAPPER.readTree(resource("loadtest/youtube-search.json")).path("items");
+        videosBody = resource("loadtest/youtube-videos.json");
+        timedtextBody = resource("fixtures/kimchi-jjigae.json3");
+        informationBody = MAPPER.readTree(resource("loadtest/spoonacular-information.json"));
+        instructionsBody = resource("loadtest/spoonacular-instructions.json");
+        paddingBefore = padding(Integer.parseInt(setting(config, YOUTUBE_WATCH, "padding-before", "0")));
+        paddingAfter = padding(Integer.parseInt(setting(config, YOUTUBE_WATCH, "padding-after", "0")));
+        noCaptionsRate = Double.parseDouble(setting(config, YOUTUBE_WATCH, "no-captions-rate", "0"));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "stub-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/youtube/v3/search", exchange -> handle(exchange, routes.get(YOUTUBE_SEARCH), this::search));
+        server.createContext("/youtube/v3/videos", exchange -> handle(exchange, routes.get(YOUTUBE_VIDEOS),
+                ex -> send(ex, 200, JSON, videosBody)));
+        server.createContext("/watch", exchange -> handle(exchange, routes.get(YOUTUBE_WATCH), this::watch));
+        server.createContext("/api/timedtext", exchange -> handle(exchange, routes.get(YOUTUBE_TIMEDTEXT),
+                ex -> send(ex, 200, JSON, timedtextBody)));
+        server.createContext("/spoonacular/recipes/", this::spoonacular);
+        server.createContext("/__stats", this::stats);
+    }
+
+    /** 설정: 기본값(클래스패스 loadtest/stub.properties) 위에 overrides를 덮어씀 */
+    public static StubServer start(int port, Properties overrides) throws IOException {
+        Properties config = new Properties();
+        try (InputStream in = StubServer.class.getClassLoader().getResourceAsStream("loadtest/stub.properties")) {
+            if (in != null) config.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+        config.putAll(overrides);
+        StubServer stub = new StubServer(port, config);
+        stub.server.start();
+        return stub;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** 경로별 호출 수 (이름 → requests/ok/errors/quota) */
+    public Map<String, Map<String, Long>> stats() {
+        Map<String, Map<String, Long>> out = new LinkedHashMap<>();
+        routes.forEach((name, route) -> out.put(name, route.snapshot()));
+        return out;
+    }
+
+    public void resetStats() {
+        routes.values().forEach(Route::reset);
+    }
+
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        routes.values().forEach(r -> sb.append(String.format("  %-26s latency=%s error-rate=%s quota-rate=%s quota-after=%d%n",
+                r.name, r.latency, r.errorRate, r.quotaRate, r.quotaAfter)));
+        sb.append(String.format("  %-26s padding=%d+%d bytes no-captions-rate=%s%n",
+                YOUTUBE_WATCH, paddingBefore.length, paddingAfter.length, noCaptionsRate));
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        Properties overrides = new Properties();
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            } else if (arg.startsWith("--config=")) {
+                try (InputStream in = new FileInputStream(new File(arg.substring("--config=".length())))) {
+                    overrides.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+                }
+            } else if (arg.startsWith("--route.") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                overrides.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+            } else {
+                System.err.println("usage: StubServer [--port=18089] [--config=파일] [--route.이름.키=값 ...]");
+                System.exit(2);
+            }
+        }
+        StubServer stub = start(port, overrides);
+        System.out.println("stub server: http://127.0.0.1:" + stub.port());
+        System.out.print(stub.describe());
+    }
+
+    // --- 경로 ---
+
+    /** 저장한 15개 결과를 검색어별로 돌려서 maxResults개 (검색어가 다르면 첫 영상도 다르게) */
+    private void search(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange);
+        int max = Math.max(1, Math.min(50, parseInt(query.get("maxResults"), 5)));
+        int n = searchItems.size();
+        int start = Math.floorMod(query.getOrDefault("q", "").hashCode(), n);
+        ArrayNode items = MAPPER.createArrayNode();
+        for (int i = 0; i < Math.min(max, n); i++) items.add(searchItems.get((start + i) % n));
+        ObjectNode body = MAPPER.createObjectNode();
+        body.set("items", items);
+        send(exchange, 200, JSON, MAPPER.writeValueAsBytes(body));
+    }
+
+    /** 채움 HTML + (자막 있는 영상이면) ytInitialPlayerResponse의 captionTracks + 채움. 자막 유무는 videoId로 고정 */
+    private void watch(HttpExchange exchange) throws IOException {
+        String videoId = query(exchange).getOrDefault("v", "");
+        boolean noCaptions = (Math.floorMod(videoId.hashCode(), 10_000) / 10_000.0) < noCaptionsRate;
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        String tracks = noCaptions ? "" : "<script>var ytInitialPlayerResponse = {\"captions\":{\"playerCaptionsTracklistRenderer\":"
+                + "{\"captionTracks\":[{\"baseUrl\":\"http://" + host + "/api/timedtext?v=" + videoId
+                + "\\u0026lang=ko\\u0026kind=asr\",\"name\":{\"simpleText\":\"한국어 (자동 생성됨)\"},\"languageCode\":\"ko\"}]}}};</script>\n";
+        byte[] middle = tracks.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        exchange.sendResponseHeaders(200, paddingBefore.length + middle.length + paddingAfter.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(paddingBefore);
+            out.write(middle);
+            out.write(paddingAfter);
+        }
+    }
+
+    /** /spoonacular/recipes/{id}/information | /spoonacular/recipes/{id}/analyzedInstructions */
+    private void spoonacular(HttpExchange exchange) throws IOException {
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        if (parts.length != 5) {
+            drain(exchange);
+            send(exchange, 404, JSON, "{\"status\":\"failure\",\"code\":404}".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        String id = parts[3];
+        switch (parts[4]) {
+            case "information" -> handle(exchange, routes.get(SPOONACULAR_INFORMATION), ex -> {
+                ObjectNode body = informationBody.deepCopy();
+                body.put("id", parseInt(id, 0));
+                body.put("title", body.path("title").asText() + " #" + id);
+                send(ex, 200, JSON, MAPPER.writeValueAsBytes(body));
+            });
+            case "analyzedInstructions" -> handle(exchange, routes.get(SPOONACULAR_INSTRUCTIONS),
+                    ex -> send(ex, 200, JSON, instructionsBody));
+            default -> {
+                drain(exchange);
+                send(exchange, 404, JSON, "{\"status\":\"failure\",\"code\":404}".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private void stats(HttpExchange exchange) throws IOException {
+        drain(exchange);
+        byte[] body = MAPPER.writerWithDefaultPrettyPrinter().writeValueAsBytes(stats());
+        if ("true".equals(query(exchange).get("reset"))) resetStats();
+        send(exchange, 200, JSON, body);
+    }
+
+    // --- 공통: 지연 → 할당량 초과 → 오류 → 정상 응답 ---
+
+    private interface Body {
+        void write(HttpExchange exchange) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Route route, Body ok) throws IOException {
+        try (exchange) {
+            drain(exchange);
+            long delay = route.latency.sampleMillis();
+            if (delay > 0) Thread.sleep(delay);
+            // 응답 시점에 셈 (측정 구간 시작에 초기화해도 requests = ok + errors + quota)
+            route.requests.incrementAndGet();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean quota = (route.quotaAfter > 0 && route.served.get() >= route.quotaAfter)
+                    || (route.quotaRate > 0 && random.nextDouble() < route.quotaRate);
+            if (quota) {
+                route.quota.incrementAndGet();
+                sendQuotaExceeded(exchange, route.name);
+            } else if (route.errorRate > 0 && random.nextDouble() < route.errorRate) {
+                route.errors.incrementAndGet();
+                sendServerError(exchange, route.name);
+            } else {
+                route.ok.incrementAndGet();
+                route.served.incrementAndGet();
+                ok.write(exchange);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // 앱이 watch 페이지를 자막 위치까지만 읽고 연결을 끊음 (정상)
+        }
+    }
+
+    /** YouTube Data API 403 quotaExceeded / watch·timedtext 429 / Spoonacular 402 (앱은 다음 날 0시까지 차단) */
+    private static void sendQuotaExceeded(HttpExchange exchange, String route) throws IOException {
+        if (route.startsWith("spoonacular")) {
+            send(exchange, 402, JSON, ("{\"status\":\"failure\",\"code\":402,\"message\":\"Your daily points limit of 150 has been reached. "
+                    + "Please upgrade your plan to continue using the API.\"}").getBytes(StandardCharsets.UTF_8));
+        } else if (route.equals(YOUTUBE_WATCH) || route.equals(YOUTUBE_TIMEDTEXT)) {
+            send(exchange, 429, "text/html; charset=UTF-8", "<html><body>Too Many Requests</body></html>".getBytes(StandardCharsets.UTF_8));
+        } else {
+            send(exchange, 403, JSON, ("{\"error\":{\"code\":403,\"message\":\"The request cannot be completed because you have exceeded your "
+                    + "<a href=\\\"/youtube/v3/getting-started#quota\\\">quota</a>.\",\"errors\":[{\"message\":\"quota exceeded\","
+                    + "\"domain\":\"youtube.quota\",\"reason\":\"quotaExceeded\"}]}}").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void sendServerError(HttpExchange exchange, String route) throws IOException {
+        if (route.startsWith("spoonacular")) {
+            send(exchange, 500, JSON, "{\"status\":\"failure\",\"code\":500,\"message\":\"stub error\"}".getBytes(StandardCharsets.UTF_8));
+        } else if (route.equals(YOUTUBE_WATCH) || route.equals(YOUTUBE_TIMEDTEXT)) {
+            send(exchange, 500, "text/html; charset=UTF-8", "<html><body>Internal Server Error</body></html>".getBytes(StandardCharsets.UTF_8));
+        } else {
+            send(exchange, 500, JSON, ("{\"error\":{\"code\":500,\"message\":\"Backend Error\",\"errors\":[{\"message\":\"Backend Error\","
+                    + "\"domain\":\"global\",\"reason\":\"backendError\"}]}}").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new LinkedHashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) continue;
+            params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return value != null ? Integer.parseInt(value) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static String setting(Properties config, String route, String key, String fallback) {
+        String value = config.getProperty("route." + route + "." + key);
+        if (value == null) value = config.getProperty("route.default." + key, fallback);
+        return value.trim();
+    }
+
+    private static byte[] resource(String path) {
+        try (InputStream in = StubServer.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) throw new IllegalStateException("리소스 없음: " + path);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] padding(int bytes) {
+        byte[] out = new byte[Math.max(0, bytes)];
+        for (int i = 0; i < out.length; i++) out[i] = PAD_UNIT[i % PAD_UNIT.length];
+        return out;
+    }
+
+    /** 경로별 설정 + 호출 수 */
+    private static final class Route {
+        final String name;
+        final LatencyModel latency;
+        final double errorRate;
+        final double quotaRate;
+        final long quotaAfter;
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong ok = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong quota = new AtomicLong();
+        /** 기동 후 정상 응답 수 (quota-after 기준, 통계 초기화와 무관) */
+        final AtomicLong served = new AtomicLong();
+
+        Route(String name, Properties config) {
+            this.name = name;
+            this.latency = LatencyModel.parse(setting(config, name, "latency", "none"));
+            this.errorRate = Double.parseDouble(setting(config, name, "error-rate", "0"));
+            this.quotaRate = Double.parseDouble(setting(config, name, "quota-rate", "0"));
+            this.quotaAfter = Long.parseLong(setting(config, name, "quota-after", "0"));
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> out = new LinkedHashMap<>();
+            out.put("requests", requests.get());
+            out.put("ok", ok.get());
+            out.put("errors", errors.get());
+            out.put("quota", quota.get());
+            return out;
+        }
+
+        void reset() {
+            requests.set(0);
+            ok.set(0);
+            errors.set(0);
+            quota.set(0);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fridge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 외부 API(YouTube 등) 호출을 요청 스레드와 병렬로 돌리기 위한 제한된 스레드 풀.
+ * 큐가 차면 RejectedExecutionException → 호출 측에서 외부 결과 없이 응답.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.external.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.external.queue-capacity:32}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService externalCallExecutor() {
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread t = new Thread(r, "external-call-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
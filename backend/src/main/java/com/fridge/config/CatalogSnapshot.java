@@ -0,0 +1,295 @@
+package com.fridge.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 카탈로그 테이블(재료·레시피·레시피 재료·순서) 바이너리 스냅샷.
+ * data.sql을 한 번 실행한 결과를 파일로 떠 두고, 다음 기동부터는 파일을 메모리 매핑으로 읽어 H2 UNNEST로 한꺼번에 넣음
+ * (ScriptUtils로 문장을 하나씩 파싱·실행하지 않음).
+ * 헤더에 schema.sql·data.sql SHA-256을 넣어 두고, 원본이 바뀌었거나 형식 버전이 다르면 무시 → data.sql 실행 후 다시 씀.
+ * 열 목록은 INFORMATION_SCHEMA.COLUMNS에서 읽어 파일에도 적어 둠 (열이 늘면 파일과 달라져 다시 만듦, 모르는 타입이면 스냅샷을 쓰지 않음).
+ * 형식: MAGIC, FORMAT_VERSION, 체크섬(32), 테이블 수, 테이블마다 이름·열 정의(수, 이름·타입)·행 수·열(열 단위로 연속 저장).
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+    private static final int MAGIC = 0x46524353; // "FRCS"
+    private static final int FORMAT_VERSION = 2;
+
+    /** 적재 순서 = FK 순서. 지울 때는 역순 */
+    private static final List<String> TABLES = List.of("ingredients", "recipes", "recipe_ingredients", "recipe_steps");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 비우면 스냅샷을 쓰지 않고 매번 data.sql 실행 */
+    @Value("${app.catalog.snapshot.file:}")
+    private String file;
+
+    public CatalogSnapshot(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 스냅샷이 있고 체크섬이 맞으면 적재 후 true. 없거나 맞지 않거나 읽다 실패하면 false (DB는 비어 있는 상태로 되돌림) */
+    public boolean tryLoad() {
+        Path path = path();
+        if (path == null || !Files.isRegularFile(path)) return false;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != FORMAT_VERSION) {
+                log.info("카탈로그 스냅샷 형식이 달라 data.sql로 다시 만듭니다 ({})", path);
+                return false;
+            }
+            byte[] stored = new byte[32];
+            buf.get(stored);
+            if (!Arrays.equals(stored, sourceChecksum())) {
+                log.info("data.sql·schema.sql이 바뀌어 카탈로그 스냅샷을 다시 만듭니다 ({})", path);
+                return false;
+            }
+            // 파일 전체를 먼저 읽어 검증한 뒤 넣음 (잘린 파일이면 DB는 건드리지 않음)
+            Map<String, Table> byName = tables().stream().collect(Collectors.toMap(Table::name, t -> t));
+            int tableCount = buf.getInt();
+            List<Loaded> loaded = new ArrayList<>(tableCount);
+            for (int t = 0; t < tableCount; t++) {
+                Table table = byName.get(readString(buf));
+                if (table == null) throw new IOException("알 수 없는 테이블");
+                if (!table.columns().equals(readColumns(buf))) {
+                    log.info("{} 테이블 열이 바뀌어 카탈로그 스냅샷을 다시 만듭니다 ({})", table.name(), path);
+                    return false;
+                }
+                int rows = buf.getInt();
+                Object[][] columns = new Object[table.columns().size()][];
+                for (int c = 0; c < columns.length; c++) columns[c] = readColumn(buf, table.columns().get(c).type(), rows);
+                loaded.add(new Loaded(table, rows, columns));
+            }
+            insert(loaded);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("카탈로그 스냅샷 읽기 실패, data.sql로 대체 ({}): {}", path, e.toString());
+            return false;
+        }
+    }
+
+    private void insert(List<Loaded> loaded) {
+        try {
+            for (Loaded l : loaded) {
+                if (l.rows() == 0) continue;
+                H2BulkInsert.insert(jdbcTemplate, l.table().insertSql(), l.rows(), l.columns());
+                H2BulkInsert.restartIdentity(jdbcTemplate, l.table().name(), H2BulkInsert.nextId(jdbcTemplate, l.table().name()));
+            }
+        } catch (RuntimeException e) {
+            // data.sql은 id 1부터 매겨진다고 가정(레시피 번호로 재료를 연결)하므로 넣던 행을 지우고 시퀀스도 되돌림
+            for (int i = TABLES.size() - 1; i >= 0; i--) jdbcTemplate.update("DELETE FROM " + TABLES.get(i));
+            for (String table : TABLES) H2BulkInsert.restartIdentity(jdbcTemplate, table, 1);
+            throw e;
+        }
+    }
+
+    /** 현재 테이블 내용을 스냅샷으로 저장. 임시 파일에 쓴 뒤 교체 (쓰는 도중 멈춰도 이전 파일은 온전) */
+    public void write() {
+        Path path = path();
+        if (path == null) return;
+        try {
+            List<Table> tables = tables();
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.write(sourceChecksum());
+                out.writeInt(tables.size());
+                for (Table table : tables) {
+                    List<Object[]> rows = jdbcTemplate.query(table.selectSql(), (rs, n) -> {
+                        Object[] row = new Object[table.columns().size()];
+                        for (int c = 0; c < row.length; c++) row[c] = rs.getObject(c + 1);
+                        return row;
+                    });
+                    writeString(out, table.name());
+                    writeColumns(out, table.columns());
+                    out.writeInt(rows.size());
+                    for (int c = 0; c < table.columns().size(); c++) writeColumn(out, table.columns().get(c).type(), rows, c);
+                }
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("카탈로그 스냅샷 저장: {} ({} bytes)", path, Files.size(path));
+        } catch (IOException | RuntimeException e) {
+            log.warn("카탈로그 스냅샷 저장 실패 ({}): {}", path, e.getMessage());
+        }
+    }
+
+    /** 현재 스키마의 열 정의 (INFORMATION_SCHEMA 순서). 스냅샷이 다룰 수 없는 타입이면 IllegalStateException */
+    private List<Table> tables() {
+        List<Table> tables = new ArrayList<>(TABLES.size());
+        for (String name : TABLES) {
+            List<Column> columns = jdbcTemplate.query(
+                    "SELECT COLUMN_NAME, DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS "
+                            + "WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION",
+                    (rs, n) -> new Column(rs.getString(1).toLowerCase(Locale.ROOT), Type.of(name, rs.getString(1), rs.getString(2))),
+                    name.toUpperCase(Locale.ROOT));
+            if (columns.isEmpty()) throw new IllegalStateException("테이블이 없습니다: " + name);
+            tables.add(new Table(name, columns));
+        }
+        return tables;
+    }
+
+    private static List<Column> readColumns(ByteBuffer buf) throws IOException {
+        int count = buf.getInt();
+        List<Column> columns = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = readString(buf);
+            int type = buf.get();
+            if (type < 0 || type >= Type.values().length) throw new IOException("알 수 없는 열 타입");
+            columns.add(new Column(name, Type.values()[type]));
+        }
+        return columns;
+    }
+
+    private static void writeColumns(DataOutputStream out, List<Column> columns) throws IOException {
+        out.writeInt(columns.size());
+        for (Column column : columns) {
+            writeString(out, column.name());
+            out.writeByte(column.type().ordinal());
+        }
+    }
+
+    private static Object[] readColumn(ByteBuffer buf, Type type, int rows) {
+        switch (type) {
+            case LONG -> {
+                Long[] values = new Long[rows];
+                for (int i = 0; i < rows; i++) values[i] = buf.get() == 0 ? null : buf.getLong();
+                return values;
+            }
+            case INT -> {
+                Integer[] values = new Integer[rows];
+                for (int i = 0; i < rows; i++) values[i] = buf.get() == 0 ? null : buf.getInt();
+                return values;
+            }
+            default -> {
+                String[] values = new String[rows];
+                for (int i = 0; i < rows; i++) values[i] = readString(buf);
+                return values;
+            }
+        }
+    }
+
+    private static void writeColumn(DataOutputStream out, Type type, List<Object[]> rows, int c) throws IOException {
+        for (Object[] row : rows) {
+            Object v = row[c];
+            switch (type) {
+                case LONG, INT -> {
+                    out.writeByte(v == null ? 0 : 1);
+                    if (v == null) continue;
+                    if (type == Type.LONG) out.writeLong(((Number) v).longValue());
+                    else out.writeInt(((Number) v).intValue());
+                }
+                default -> writeString(out, v != null ? v.toString() : null);
+            }
+        }
+    }
+
+    /** 길이(-1이면 null) + UTF-8 바이트 */
+    private static String readString(ByteBuffer buf) {
+        int len = buf.getInt();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** schema.sql + data.sql SHA-256 (둘 중 하나라도 바뀌면 스냅샷 무효) */
+    private static byte[] sourceChecksum() throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String resource : List.of("schema.sql", "data.sql")) {
+                try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Path path() {
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    private enum Type {
+        LONG("BIGINT"), INT("INT"), STRING("VARCHAR");
+
+        private final String sqlType;
+
+        Type(String sqlType) {
+            this.sqlType = sqlType;
+        }
+
+        /** H2 DATA_TYPE → 스냅샷 타입. 그 밖의 타입(날짜·숫자 등)은 값이 바뀌지 않게 옮길 수 없어 실패 */
+        static Type of(String table, String column, String dataType) {
+            return switch (dataType) {
+                case "BIGINT" -> LONG;
+                case "INTEGER" -> INT;
+                case "CHARACTER VARYING", "CHARACTER LARGE OBJECT" -> STRING;
+                default -> throw new IllegalStateException(
+                        "카탈로그 스냅샷이 지원하지 않는 열 타입: " + table + "." + column + " " + dataType);
+            };
+        }
+    }
+
+    private record Column(String name, Type type) {
+    }
+
+    private record Loaded(Table table, int rows, Object[][] columns) {
+    }
+
+    private record Table(String name, List<Column> columns) {
+
+        String selectSql() {
+            return "SELECT " + columns.stream().map(Column::name).collect(Collectors.joining(", ")) + " FROM " + name + " ORDER BY id";
+        }
+
+        String insertSql() {
+            return "INSERT INTO " + name + " (" + columns.stream().map(Column::name).collect(Collectors.joining(", ")) + ") "
+                    + "SELECT * FROM UNNEST(" + columns.stream().map(c -> "CAST(? AS " + c.type().sqlType + " ARRAY)")
+                    .collect(Collectors.joining(", ")) + ")";
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.fridge.config;
+
+import com.fridge.service.RecipeVideoService;
+import com.fridge.service.SpoonacularService;
+import com.fridge.service.YouTubeService;
+import com.fridge.service.YoutubeTranscriptService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 순서: data.sql(또는 스냅샷) → 시드 → 레시피 영상 복원 → (선택) 예열 → 준비 완료 → 외부 API 빈 생성.
+ * background-catalog=true면 별도 스레드에서 돌려 기동을 막지 않음 (그동안 /api 요청은 ReadinessInterceptor가 기다리게 함).
+ * 외부 API 빈(YouTube·Spoonacular·HTTP 풀)은 @Lazy라 준비 완료 후 백그라운드에서 만들어 둠 (첫 호출이 생성 비용을 내지 않도록).
+ */
+@Component
+public class CatalogStartupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogStartupRunner.class);
+
+    private final SqlDataLoader sqlDataLoader;
+    private final RecipeSeedLoader recipeSeedLoader;
+    private final RecipeVideoService recipeVideoService;
+    private final StartupWarmup startupWarmup;
+    private final StartupReadiness startupReadiness;
+    private final StartupTimeline startupTimeline;
+    private final ApplicationContext applicationContext;
+
+    @Value("${app.startup.background-catalog:false}")
+    private boolean background;
+
+    @Value("${app.startup.warmup.enabled:false}")
+    private boolean warmupEnabled;
+
+    public CatalogStartupRunner(SqlDataLoader sqlDataLoader, RecipeSeedLoader recipeSeedLoader,
+                                RecipeVideoService recipeVideoService, StartupWarmup startupWarmup, StartupReadiness startupReadiness,
+                                StartupTimeline startupTimeline, ApplicationContext applicationContext) {
+        this.sqlDataLoader = sqlDataLoader;
+        this.recipeSeedLoader = recipeSeedLoader;
+        this.recipeVideoService = recipeVideoService;
+        this.startupWarmup = startupWarmup;
+        this.startupReadiness = startupReadiness;
+        this.startupTimeline = startupTimeline;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!background) {
+            try {
+                startup();
+            } catch (Exception e) {
+                startupReadiness.failed();
+                throw e;
+            }
+            initExternalBeansAsync();
+            return;
+        }
+        Thread t = new Thread(() -> {
+            try {
+                startup();
+            } catch (Exception e) {
+                startupReadiness.failed();
+                log.error("카탈로그 적재 실패: {}", e.getMessage(), e);
+                return;
+            }
+            initExternalBeans();
+        }, "catalog-startup");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void startup() throws Exception {
+        sqlDataLoader.load();
+        startupTimeline.mark("catalog");
+        recipeSeedLoader.load();
+        startupTimeline.mark("seed");
+        recipeVideoService.restore();
+        startupTimeline.mark("videos");
+        if (warmupEnabled) {
+            startupReadiness.warmingUp();
+            int calls = startupWarmup.run();
+            startupTimeline.mark("warmup(" + calls + ")");
+        }
+        startupReadiness.ready();
+        startupTimeline.mark("ready");
+        log.info("기동 타임라인: {}", startupTimeline.summary());
+    }
+
+    private void initExternalBeansAsync() {
+        Thread t = new Thread(this::initExternalBeans, "external-beans-init");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void initExternalBeans() {
+        try {
+            applicationContext.getBean(YouTubeService.class);
+            applicationContext.getBean(SpoonacularService.class);
+            applicationContext.getBean(YoutubeTranscriptService.class);
+            startupTimeline.mark("external-beans");
+        } catch (RuntimeException e) {
+            log.warn("외부 API 빈 생성 실패 (첫 호출 때 다시 시도): {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fridge.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * H2 일괄 적재: 열(column) 배열을 UNNEST로 넘겨 문장 1개에 수천 행을 넣음 (PreparedStatement 배치보다 약 2배 빠름).
+ * id를 미리 매겨 넣으므로 끝나면 restartIdentity로 시퀀스를 옮길 것.
+ */
+final class H2BulkInsert {
+
+    /** insert 문장 1개(=자동 커밋 1회)에 넣는 행 수 */
+    private static final int BATCH_SIZE = 10000;
+
+    private H2BulkInsert() {
+    }
+
+    /** 열 배열을 BATCH_SIZE씩 잘라 넣음. 묶음들은 여러 커넥션에서 동시에 (id가 이미 정해져 있어 순서 무관) */
+    static void insert(JdbcTemplate jdbcTemplate, String sql, int rows, Object[]... columns) {
+        IntStream.range(0, (rows + BATCH_SIZE - 1) / BATCH_SIZE).parallel().forEach(b -> {
+            int from = b * BATCH_SIZE;
+            int to = Math.min(from + BATCH_SIZE, rows);
+            jdbcTemplate.update(sql, ps -> {
+                for (int c = 0; c < columns.length; c++) ps.setObject(c + 1, Arrays.copyOfRange(columns[c], from, to));
+            });
+        });
+    }
+
+    /** 직접 id를 넣었으므로 이후 JPA(IDENTITY) insert가 겹치지 않게 시퀀스를 옮김 */
+    static void restartIdentity(JdbcTemplate jdbcTemplate, String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    static long nextId(JdbcTemplate jdbcTemplate, String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max != null ? max : 0) + 1;
+    }
+}
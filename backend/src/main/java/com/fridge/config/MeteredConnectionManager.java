@@ -0,0 +1,94 @@
+package com.fridge.config;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.core5.http.config.Registry;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 연결 재사용·대기 시간을 집계하는 커넥션 풀.
+ * lease 횟수 대비 새로 만든 연결 수로 재사용률을, 풀에서 연결을 받기까지 걸린 시간으로 대기 시간을 잼.
+ */
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final LongAdder leases = new LongAdder();
+    private final AtomicLong created;
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAccumulator maxLeaseWaitNanos = new LongAccumulator(Math::max, 0);
+
+    public MeteredConnectionManager(Registry<ConnectionSocketFactory> registry, TimeValue timeToLive) {
+        this(registry, timeToLive, new AtomicLong());
+    }
+
+    private MeteredConnectionManager(Registry<ConnectionSocketFactory> registry, TimeValue timeToLive, AtomicLong created) {
+        super(registry, PoolConcurrencyPolicy.STRICT, PoolReusePolicy.LIFO, timeToLive, countingFactory(created));
+        this.created = created;
+    }
+
+    private static HttpConnectionFactory<ManagedHttpClientConnection> countingFactory(AtomicLong created) {
+        return socket -> {
+            created.incrementAndGet();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+        };
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+        long start = System.nanoTime();
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, java.util.concurrent.ExecutionException, java.util.concurrent.TimeoutException {
+                try {
+                    return delegate.get(timeout);
+                } finally {
+                    long waited = System.nanoTime() - start;
+                    leases.increment();
+                    leaseWaitNanos.add(waited);
+                    maxLeaseWaitNanos.accumulate(waited);
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+
+    public Stats snapshot() {
+        PoolStats total = getTotalStats();
+        long leaseCount = leases.sum();
+        long createdCount = created.get();
+        return new Stats(
+                total.getLeased(), total.getAvailable(), total.getPending(), total.getMax(),
+                leaseCount, createdCount,
+                leaseCount == 0 ? 0 : Math.max(0, (double) (leaseCount - createdCount) / leaseCount),
+                leaseCount == 0 ? 0 : leaseWaitNanos.sum() / 1_000_000.0 / leaseCount,
+                maxLeaseWaitNanos.get() / 1_000_000.0
+        );
+    }
+
+    /**
+     * @param reuseRatio        lease 중 기존 연결을 재사용한 비율 (0~1)
+     * @param avgLeaseWaitMillis 풀에서 연결을 받기까지 평균 대기(ms)
+     */
+    public record Stats(int leased, int available, int pending, int max,
+                        long leases, long connectionsCreated, double reuseRatio,
+                        double avgLeaseWaitMillis, double maxLeaseWaitMillis) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.fridge.config;
+
+import com.fridge.service.FileQuotaLedger;
+import com.fridge.service.InMemoryQuotaLedger;
+import com.fridge.service.JdbcQuotaLedger;
+import com.fridge.service.QuotaLedger;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 외부 API 할당량 장부 선택 (app.quota.ledger.type).
+ * - memory: 힙에만 (기본, 재시작·인스턴스마다 0부터)
+ * - file: app.quota.ledger.file 에 memory-mapped 저장. 같은 머신·볼륨의 여러 프로세스가 공유
+ * - jdbc: app.quota.ledger.jdbc-url 의 DB 한 곳을 여러 인스턴스가 공유 (앱 기본 H2 in-memory DB와는 별개)
+ * 로컬에서 두 인스턴스로 확인: 같은 설정으로 --server.port=8080 / --server.port=8081 두 개 실행 후 /api/youtube-quota 비교.
+ */
+@Configuration
+public class QuotaLedgerConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(QuotaLedgerConfig.class);
+
+    @Value("${app.quota.ledger.type:memory}")
+    private String type;
+
+    @Value("${app.quota.ledger.file:./data/quota-ledger.dat}")
+    private String file;
+
+    @Value("${app.quota.ledger.jdbc-url:jdbc:h2:file:./data/quota-ledger;AUTO_SERVER=TRUE}")
+    private String jdbcUrl;
+
+    @Value("${app.quota.ledger.jdbc-username:sa}")
+    private String jdbcUsername;
+
+    @Value("${app.quota.ledger.jdbc-password:}")
+    private String jdbcPassword;
+
+    @Bean
+    public QuotaLedger quotaLedger() {
+        switch (type.trim().toLowerCase()) {
+            case "file":
+                log.info("할당량 장부: 파일 ({})", file);
+                return new FileQuotaLedger(Path.of(file));
+            case "jdbc":
+                log.info("할당량 장부: JDBC ({})", jdbcUrl);
+                // 기본 DataSource 빈과 충돌하지 않도록 빈으로 등록하지 않고 장부 전용으로만 사용
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setJdbcUrl(jdbcUrl);
+                dataSource.setUsername(jdbcUsername);
+                dataSource.setPassword(jdbcPassword);
+                dataSource.setMaximumPoolSize(2);
+                dataSource.setPoolName("quota-ledger");
+                return new JdbcQuotaLedger(dataSource);
+            default:
+                return new InMemoryQuotaLedger();
+        }
+    }
+}
@@ -1,58 +1,69 @@
 package com.fridge.config;
 
 import com.fridge.entity.Ingredient;
-import com.fridge.entity.Recipe;
-import com.fridge.entity.RecipeIngredient;
-import com.fridge.entity.RecipeStep;
 import com.fridge.repository.IngredientRepository;
-import com.fridge.repository.RecipeIngredientRepository;
 import com.fridge.repository.RecipeRepository;
-import com.fridge.repository.RecipeStepRepository;
+import com.fridge.service.CatalogChangedEvent;
+import com.fridge.service.SyntheticRecipeCatalog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
-import org.springframework.core.annotation.Order;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
- * data.sql 로드 후 실행. 1·2·3개 재료 조합마다 최소 10개 레시피를 보장.
+ * data.sql 로드 후 실행 (CatalogStartupRunner). 1·2·3개 재료 조합마다 최소 10개 레시피를 보장.
  * (선택 최대 5개일 때 모든 조합에서 최소 10개씩 결과가 나오도록)
+ * JPA(IDENTITY)는 insert를 묶지 못해 수만 건이면 기동이 수십 초 걸리므로, id를 미리 매겨 열(column) 배열을 병렬로 만들고
+ * H2 UNNEST로 배열째 넣은 뒤(문장 1개 = 수천 행) 각 테이블의 id 시퀀스를 그 다음 값으로 맞춤.
+ * app.recipe.seed.mode=stored일 때만 적재. virtual(기본)이면 SyntheticRecipeCatalog가 같은 규칙으로 id에서 바로 계산.
  */
 @Component
-@Order(2)
-public class RecipeSeedLoader implements ApplicationRunner {
+public class RecipeSeedLoader {
 
     private static final Logger log = LoggerFactory.getLogger(RecipeSeedLoader.class);
-    private static final int RECIPES_PER_COMBO = 10;
-    private static final String[] SUFFIXES = {"볶음", "찌개", "구이", "전", "밥", "무침", "조림", "볶음밥", "덮밥", "국", "탕", "스프", "샐러드", "튀김", "찜"};
-    private static final int BATCH_SIZE = 200;
+    /** stepsFor가 만드는 단계 수 (항상 3) */
+    private static final int STEPS_PER_RECIPE = 3;
+
+    private static final String INSERT_RECIPES = "INSERT INTO recipes (id, name, description, main_category, sub_category) "
+            + "SELECT * FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS VARCHAR ARRAY), CAST(? AS VARCHAR ARRAY), "
+            + "CAST(? AS VARCHAR ARRAY), CAST(? AS VARCHAR ARRAY))";
+    private static final String INSERT_RECIPE_INGREDIENTS = "INSERT INTO recipe_ingredients (id, recipe_id, ingredient_id) "
+            + "SELECT * FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS BIGINT ARRAY), CAST(? AS BIGINT ARRAY))";
+    private static final String INSERT_RECIPE_STEPS = "INSERT INTO recipe_steps (id, recipe_id, step_order, step_text) "
+            + "SELECT * FROM UNNEST(CAST(? AS BIGINT ARRAY), CAST(? AS BIGINT ARRAY), CAST(? AS INT ARRAY), CAST(? AS VARCHAR ARRAY))";
 
     private final RecipeRepository recipeRepository;
-    private final RecipeIngredientRepository recipeIngredientRepository;
-    private final RecipeStepRepository recipeStepRepository;
     private final IngredientRepository ingredientRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public RecipeSeedLoader(RecipeRepository recipeRepository,
-                            RecipeIngredientRepository recipeIngredientRepository,
-                            RecipeStepRepository recipeStepRepository,
-                            IngredientRepository ingredientRepository) {
+                            IngredientRepository ingredientRepository,
+                            JdbcTemplate jdbcTemplate,
+                            ApplicationEventPublisher eventPublisher) {
         this.recipeRepository = recipeRepository;
-        this.recipeIngredientRepository = recipeIngredientRepository;
-        this.recipeStepRepository = recipeStepRepository;
         this.ingredientRepository = ingredientRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     @Value("${app.recipe.seed.enabled:false}")
     private boolean seedEnabled;
 
-    @Override
-    public void run(ApplicationArguments args) {
-        if (!seedEnabled || recipeRepository.count() > 10) return;
+    /** stored: DB에 적재 | virtual: 적재하지 않고 SyntheticRecipeCatalog로 계산 */
+    @Value("${app.recipe.seed.mode:virtual}")
+    private String seedMode;
+
+    public void load() {
+        if (!seedEnabled || !"stored".equalsIgnoreCase(seedMode.trim()) || recipeRepository.count() > 10) return;
 
         List<Ingredient> all = ingredientRepository.findAllByOrderByNameAsc();
         if (all.isEmpty()) return;
@@ -64,101 +75,99 @@ public class RecipeSeedLoader implements ApplicationRunner {
         }
     }
 
-    /** 배치마다 별도 트랜잭션으로 저장 (한 번에 3만 건 시 타임아웃 방지) */
+    /** 생성은 병렬, 저장은 BATCH_SIZE 단위 (문장마다 자동 커밋 → 한 트랜잭션에 수십만 행이 쌓이지 않음) */
     public void runSeed(List<Ingredient> all) {
-
-        Map<String, Ingredient> byName = all.stream().collect(Collectors.toMap(Ingredient::getName, i -> i, (a, b) -> a));
-        List<String> names = all.stream().map(Ingredient::getName).collect(Collectors.toList());
-        int n = names.size();
-
-        List<List<String>> combos1 = new ArrayList<>();
-        for (int i = 0; i < n; i++) combos1.add(List.of(names.get(i)));
-        List<List<String>> combos2 = new ArrayList<>();
-        for (int i = 0; i < n; i++)
-            for (int j = i + 1; j < n; j++)
-                combos2.add(List.of(names.get(i), names.get(j)));
-        List<List<String>> combos3 = new ArrayList<>();
-        for (int i = 0; i < n; i++)
-            for (int j = i + 1; j < n; j++)
-                for (int k = j + 1; k < n; k++)
-                    combos3.add(List.of(names.get(i), names.get(j), names.get(k)));
-
-        List<Recipe> recipeBatch = new ArrayList<>();
-        List<List<String>> ingBatch = new ArrayList<>();
-        List<String> suffixBatch = new ArrayList<>();
-
-        for (List<List<String>> combos : List.of(combos1, combos2, combos3)) {
-            for (int c = 0; c < combos.size(); c++) {
-                List<String> ingNames = combos.get(c);
-                for (int r = 0; r < RECIPES_PER_COMBO; r++) {
-                    String suffix = SUFFIXES[(c * RECIPES_PER_COMBO + r) % SUFFIXES.length];
-                    String recipeName = String.join(" ", ingNames) + " " + suffix + (r > 0 ? " " + (r + 1) : "");
-                    recipeBatch.add(Recipe.builder()
-                            .name(recipeName)
-                            .description(ingNames + "으로 만드는 " + suffix + " 요리.")
-                            .mainCategory("한식")
-                            .subCategory(subCategoryFor(suffix))
-                            .build());
-                    ingBatch.add(ingNames);
-                    suffixBatch.add(suffix);
-                }
+        long startedNanos = System.nanoTime();
+        List<MemoryPoolMXBean> heapPools = heapPools();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        List<SeedRecipe> specs = seedRecipes(all);
+        int count = specs.size();
+
+        // id를 미리 매김: 레시피 i의 재료 행은 ingredientOffset[i]부터, 단계 행은 i * STEPS_PER_RECIPE부터
+        long recipeBase = H2BulkInsert.nextId(jdbcTemplate, "recipes");
+        long recipeIngredientBase = H2BulkInsert.nextId(jdbcTemplate, "recipe_ingredients");
+        long recipeStepBase = H2BulkInsert.nextId(jdbcTemplate, "recipe_steps");
+        int[] ingredientOffset = new int[count + 1];
+        for (int i = 0; i < count; i++) ingredientOffset[i + 1] = ingredientOffset[i] + specs.get(i).ingredients().size();
+        int ingredientRowCount = ingredientOffset[count];
+        int stepRowCount = count * STEPS_PER_RECIPE;
+
+        Long[] recipeIds = new Long[count];
+        String[] recipeNames = new String[count];
+        String[] descriptions = new String[count];
+        String[] mainCategories = new String[count];
+        String[] subCategories = new String[count];
+        Long[] riIds = new Long[ingredientRowCount];
+        Long[] riRecipeIds = new Long[ingredientRowCount];
+        Long[] riIngredientIds = new Long[ingredientRowCount];
+        Long[] stepIds = new Long[stepRowCount];
+        Long[] stepRecipeIds = new Long[stepRowCount];
+        Integer[] stepOrders = new Integer[stepRowCount];
+        String[] stepTexts = new String[stepRowCount];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            SeedRecipe spec = specs.get(i);
+            Long recipeId = recipeBase + i;
+            List<String> ingNames = spec.ingredients().stream().map(Ingredient::getName).toList();
+            recipeIds[i] = recipeId;
+            recipeNames[i] = SyntheticRecipeCatalog.recipeName(ingNames, spec.suffix(), spec.r());
+            descriptions[i] = SyntheticRecipeCatalog.description(ingNames, spec.suffix());
+            mainCategories[i] = "한식";
+            subCategories[i] = SyntheticRecipeCatalog.subCategoryFor(spec.suffix());
+            for (int k = 0; k < spec.ingredients().size(); k++) {
+                int row = ingredientOffset[i] + k;
+                riIds[row] = recipeIngredientBase + row;
+                riRecipeIds[row] = recipeId;
+                riIngredientIds[row] = spec.ingredients().get(k).getId();
             }
-        }
+            List<String> steps = SyntheticRecipeCatalog.stepsFor(ingNames, spec.suffix());
+            for (int s = 0; s < STEPS_PER_RECIPE; s++) {
+                int row = i * STEPS_PER_RECIPE + s;
+                stepIds[row] = recipeStepBase + row;
+                stepRecipeIds[row] = recipeId;
+                stepOrders[row] = s + 1;
+                stepTexts[row] = steps.get(s);
+            }
+        });
+        long generatedNanos = System.nanoTime();
+
+        H2BulkInsert.insert(jdbcTemplate, INSERT_RECIPES, count, recipeIds, recipeNames, descriptions, mainCategories, subCategories);
+        H2BulkInsert.insert(jdbcTemplate, INSERT_RECIPE_INGREDIENTS, ingredientRowCount, riIds, riRecipeIds, riIngredientIds);
+        H2BulkInsert.insert(jdbcTemplate, INSERT_RECIPE_STEPS, stepRowCount, stepIds, stepRecipeIds, stepOrders, stepTexts);
+        H2BulkInsert.restartIdentity(jdbcTemplate, "recipes", recipeBase + count);
+        H2BulkInsert.restartIdentity(jdbcTemplate, "recipe_ingredients", recipeIngredientBase + ingredientRowCount);
+        H2BulkInsert.restartIdentity(jdbcTemplate, "recipe_steps", recipeStepBase + stepRowCount);
+
+        long peakHeap = heapPools.stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+        log.info("레시피 시드 로드 완료: {} 개 (재료 {}행, 단계 {}행) {}ms (생성 {}ms), 최대 힙 약 {}MB",
+                count, ingredientRowCount, stepRowCount,
+                (System.nanoTime() - startedNanos) / 1_000_000, (generatedNanos - startedNanos) / 1_000_000,
+                peakHeap / (1024 * 1024));
+        eventPublisher.publishEvent(new CatalogChangedEvent("seed"));
+    }
 
-        for (int i = 0; i < recipeBatch.size(); i += BATCH_SIZE) {
-            int end = Math.min(i + BATCH_SIZE, recipeBatch.size());
-            List<Recipe> batch = recipeBatch.subList(i, end);
-            List<Recipe> saved = recipeRepository.saveAll(batch);
-            List<RecipeIngredient> riList = new ArrayList<>();
-            List<RecipeStep> rsList = new ArrayList<>();
-            for (int j = 0; j < saved.size(); j++) {
-                Recipe recipe = saved.get(j);
-                List<String> ingNames = ingBatch.get(i + j);
-                String suffix = suffixBatch.get(i + j);
-                for (String name : ingNames) {
-                    Ingredient ing = byName.get(name);
-                    if (ing != null)
-                        riList.add(RecipeIngredient.builder().recipe(recipe).ingredient(ing).build());
-                }
-                List<String> steps = stepsFor(ingNames, suffix);
-                for (int s = 0; s < steps.size(); s++)
-                    rsList.add(RecipeStep.builder().recipe(recipe).stepOrder(s + 1).stepText(steps.get(s)).build());
+    /** 가상 카탈로그와 같은 순서·규칙 (조합 번호 c, r) */
+    private List<SeedRecipe> seedRecipes(List<Ingredient> all) {
+        int n = all.size();
+        int[][] combos = SyntheticRecipeCatalog.combos(n);
+        List<SeedRecipe> specs = new ArrayList<>(combos.length * SyntheticRecipeCatalog.RECIPES_PER_COMBO);
+        for (int c = 0; c < combos.length; c++) {
+            List<Ingredient> ingredients = new ArrayList<>(combos[c].length);
+            for (int m : combos[c]) ingredients.add(all.get(m));
+            for (int r = 0; r < SyntheticRecipeCatalog.RECIPES_PER_COMBO; r++) {
+                specs.add(new SeedRecipe(List.copyOf(ingredients), SyntheticRecipeCatalog.suffixFor(c, combos[c].length, n, r), r));
             }
-            recipeIngredientRepository.saveAll(riList);
-            recipeStepRepository.saveAll(rsList);
         }
-        log.info("레시피 시드 로드 완료: {} 개", recipeBatch.size());
+        return specs;
     }
 
-    private String subCategoryFor(String suffix) {
-        switch (suffix) {
-            case "밥": case "볶음밥": case "덮밥": return "밥류";
-            case "찌개": case "국": case "탕": case "스프": return "국물류";
-            case "전": case "튀김": case "구이": case "무침": case "조림": case "볶음": case "찜": return "반찬";
-            case "샐러드": return "샐러드";
-            default: return "반찬";
-        }
+    /** 풀별 최대치 합 (동시 최대가 아니므로 실제 최대 힙 이상) */
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(p -> p.getType() == MemoryType.HEAP)
+                .toList();
     }
 
-    private List<String> stepsFor(List<String> ingNames, String suffix) {
-        List<String> steps = new ArrayList<>();
-        steps.add(ingNames + " 재료를 준비한다.");
-        if (suffix.contains("찌개") || suffix.contains("국") || suffix.contains("탕")) {
-            steps.add("냄비에 물을 올리고 재료를 넣어 끓인다.");
-            steps.add("간장·소금으로 간을 맞춘다.");
-        } else if (suffix.contains("볶음") || suffix.contains("밥")) {
-            steps.add("팬에 기름을 두르고 재료를 넣어 볶는다.");
-            steps.add("불을 끄고 참기름을 넣어 비빈다.");
-        } else if (suffix.contains("전") || suffix.contains("튀김")) {
-            steps.add("재료를 썰어 달걀물·부침가루를 묻힌다.");
-            steps.add("팬에 기름을 두르고 앞뒤로 굽는다.");
-        } else if (suffix.contains("구이") || suffix.contains("찜")) {
-            steps.add("재료에 양념을 발라 10분 재운다.");
-            steps.add("그릴이나 찜기에 익힌다.");
-        } else {
-            steps.add("재료를 넣어 익힌다.");
-            steps.add("완성한다.");
-        }
-        return steps;
+    private record SeedRecipe(List<Ingredient> ingredients, String suffix, int r) {
     }
 }
@@ -0,0 +1,36 @@
+package com.fridge.config;
+
+import com.fridge.service.RecipeVideoStore;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 레시피 대표 영상·조회 수 저장소 (app.youtube.recipe-videos.jdbc-url).
+ * 기본은 ./data(Fly 볼륨)의 H2 파일. 비우면 메모리 DB (재시작 시 초기화, 부하 테스트용)
+ */
+@Configuration
+public class RecipeVideoStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeVideoStoreConfig.class);
+
+    @Value("${app.youtube.recipe-videos.jdbc-url:jdbc:h2:file:./data/recipe-videos;AUTO_SERVER=TRUE}")
+    private String jdbcUrl;
+
+    @Bean
+    public RecipeVideoStore recipeVideoStore() {
+        boolean durable = jdbcUrl != null && !jdbcUrl.isBlank();
+        log.info("레시피 영상 저장소: {}", durable ? jdbcUrl : "메모리");
+        // 기본 DataSource 빈과 충돌하지 않도록 빈으로 등록하지 않고 저장소 전용으로만 사용
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(durable ? jdbcUrl : "jdbc:h2:mem:recipe-videos;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setPoolName("recipe-videos");
+        return new RecipeVideoStore(dataSource);
+    }
+}
@@ -1,27 +1,89 @@
 package com.fridge.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 /**
  * 외부 API(YouTube, Spoonacular, 자막 등) 호출용 RestTemplate.
  * 연결/읽기 타임아웃으로 무한 대기 방지.
+ * Apache HttpClient 커넥션 풀로 keep-alive 연결을 재사용해 호출마다 TCP·TLS 핸드셰이크를 다시 하지 않음.
+ * 호스트(라우트)별 최대 연결 수로 한 외부 서비스가 풀을 독차지하지 않게 하고, 유휴 연결은 주기적으로 정리.
+ * @Lazy: 기동 시간에서 빼고 준비 완료 후 CatalogStartupRunner가 백그라운드로 생성.
  */
 @Configuration
+@Lazy
 public class RestTemplateConfig {
 
     private static final int CONNECT_TIMEOUT_SEC = 8;
     private static final int READ_TIMEOUT_SEC = 18;
 
+    @Value("${app.http.max-total:40}")
+    private int maxTotal;
+
+    @Value("${app.http.max-per-route:10}")
+    private int maxPerRoute;
+
+    /** 풀에서 연결을 기다리는 최대 시간 */
+    @Value("${app.http.connection-request-timeout-ms:3000}")
+    private long connectionRequestTimeoutMs;
+
+    @Value("${app.http.idle-evict-seconds:30}")
+    private long idleEvictSeconds;
+
+    /** 연결 최대 수명 (DNS 변경 반영 등) */
+    @Value("${app.http.time-to-live-seconds:300}")
+    private long timeToLiveSeconds;
+
+    @Bean(destroyMethod = "close")
+    public MeteredConnectionManager httpConnectionManager() {
+        var registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", SSLConnectionSocketFactory.getSocketFactory())
+                .build();
+        MeteredConnectionManager manager = new MeteredConnectionManager(registry, TimeValue.ofSeconds(timeToLiveSeconds));
+        manager.setMaxTotal(maxTotal);
+        manager.setDefaultMaxPerRoute(maxPerRoute);
+        manager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofSeconds(CONNECT_TIMEOUT_SEC))
+                .setSocketTimeout(Timeout.ofSeconds(READ_TIMEOUT_SEC))
+                .setTimeToLive(TimeValue.ofSeconds(timeToLiveSeconds))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .build());
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(MeteredConnectionManager httpConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeoutMs))
+                        .setResponseTimeout(Timeout.ofSeconds(READ_TIMEOUT_SEC))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(idleEvictSeconds))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
         return builder
-                .setConnectTimeout(Duration.ofSeconds(CONNECT_TIMEOUT_SEC))
-                .setReadTimeout(Duration.ofSeconds(READ_TIMEOUT_SEC))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
                 .build();
     }
 }
@@ -0,0 +1,10 @@
+package com.fridge.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** @Scheduled 백그라운드 작업 (레시피 영상 미리 채우기 등) */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,12 +1,13 @@
 package com.fridge.config;
 
 import com.fridge.repository.IngredientRepository;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
+import com.fridge.service.CatalogChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.support.EncodedResource;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
-import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
@@ -16,28 +17,43 @@ import java.sql.Connection;
 /**
  * data.sql을 UTF-8로 읽어 실행. (기본 로더는 JVM 인코딩을 쓰므로 Windows에서 한글이 깨질 수 있음)
  * 수정 시 data.sql만 고치면 됨 → DB 쓰는 것처럼 쉽고 빠름.
+ * CatalogStartupRunner가 기동 시 맨 먼저 호출.
+ * 카탈로그 스냅샷(app.catalog.snapshot.file)이 data.sql과 맞으면 그 파일로 적재하고, 아니면 data.sql 실행 후 스냅샷을 새로 씀.
  */
 @Component
-@Order(1)
-public class SqlDataLoader implements ApplicationRunner {
+public class SqlDataLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlDataLoader.class);
 
     private final DataSource dataSource;
     private final IngredientRepository ingredientRepository;
+    private final CatalogSnapshot catalogSnapshot;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public SqlDataLoader(DataSource dataSource, IngredientRepository ingredientRepository) {
+    public SqlDataLoader(DataSource dataSource, IngredientRepository ingredientRepository,
+                         CatalogSnapshot catalogSnapshot, ApplicationEventPublisher eventPublisher) {
         this.dataSource = dataSource;
         this.ingredientRepository = ingredientRepository;
+        this.catalogSnapshot = catalogSnapshot;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Override
-    public void run(ApplicationArguments args) throws Exception {
+    public void load() throws Exception {
         if (ingredientRepository.count() > 0) return;
-        try (Connection conn = dataSource.getConnection()) {
-            EncodedResource resource = new EncodedResource(
-                    new ClassPathResource("data.sql"),
-                    StandardCharsets.UTF_8
-            );
-            ScriptUtils.executeSqlScript(conn, resource);
+        long started = System.nanoTime();
+        String source = "snapshot";
+        if (!catalogSnapshot.tryLoad()) {
+            source = "data.sql";
+            try (Connection conn = dataSource.getConnection()) {
+                EncodedResource resource = new EncodedResource(
+                        new ClassPathResource("data.sql"),
+                        StandardCharsets.UTF_8
+                );
+                ScriptUtils.executeSqlScript(conn, resource);
+            }
+            catalogSnapshot.write();
         }
+        log.info("카탈로그 적재 ({}): {}ms", source, (System.nanoTime() - started) / 1_000_000);
+        eventPublisher.publishEvent(new CatalogChangedEvent(source));
     }
 }
@@ -0,0 +1,53 @@
+package com.fridge.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카탈로그 준비 상태. 카탈로그 적재(·예열)가 끝나기 전의 /api 요청은 ReadinessInterceptor가 여기서 기다림
+ * (빈 카탈로그로 추천·상세를 답하지 않도록).
+ */
+@Component
+public class StartupReadiness {
+
+    public enum State { LOADING, WARMING_UP, READY, FAILED }
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private volatile State state = State.LOADING;
+
+    public State state() {
+        return state;
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    void warmingUp() {
+        state = State.WARMING_UP;
+    }
+
+    void ready() {
+        state = State.READY;
+        done.countDown();
+    }
+
+    /** 실패해도 기다리던 요청은 풀어 줌 (503 응답) */
+    void failed() {
+        state = State.FAILED;
+        done.countDown();
+    }
+
+    /** 준비되면 true. 최대 timeoutMs까지 기다림 */
+    public boolean awaitReady(long timeoutMs) {
+        if (isReady()) return true;
+        try {
+            done.await(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return isReady();
+    }
+}
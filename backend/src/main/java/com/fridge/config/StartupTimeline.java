@@ -0,0 +1,48 @@
+package com.fridge.config;
+
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 기동 단계별 시간. 각 단계는 이전 단계가 끝난 뒤부터 걸린 시간 (첫 단계 "jvm+context"는 JVM 시작부터 HTTP 수신 시작까지).
+ * 준비 완료 시 한 줄로 로그에 남기고 GET /api/ready 에도 포함.
+ */
+@Component
+public class StartupTimeline {
+
+    private final List<Phase> phases = new ArrayList<>();
+    private long lastMs;
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        mark("jvm+context");
+    }
+
+    /** 지금까지를 한 단계로 기록 */
+    public synchronized void mark(String name) {
+        long now = ManagementFactory.getRuntimeMXBean().getUptime();
+        phases.add(new Phase(name, now - lastMs, now));
+        lastMs = now;
+    }
+
+    public synchronized List<Phase> phases() {
+        return List.copyOf(phases);
+    }
+
+    /** "jvm+context 17233ms → catalog 197ms → ... (총 17600ms)" */
+    public synchronized String summary() {
+        StringJoiner joiner = new StringJoiner(" → ");
+        for (Phase p : phases) joiner.add(p.name() + " " + p.durationMs() + "ms");
+        return joiner + " (총 " + lastMs + "ms)";
+    }
+
+    /** durationMs: 이 단계에 걸린 시간, atMs: JVM 시작부터 이 단계가 끝난 시점 */
+    public record Phase(String name, long durationMs, long atMs) {
+    }
+}
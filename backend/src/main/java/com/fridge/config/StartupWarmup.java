@@ -0,0 +1,65 @@
+package com.fridge.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridge.dto.RecipeDto;
+import com.fridge.entity.Ingredient;
+import com.fridge.repository.IngredientRepository;
+import com.fridge.service.IngredientListPayload;
+import com.fridge.service.RecipeDetailService;
+import com.fridge.service.RecipeRecommendService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 준비 완료 전 JIT 예열: 합성 재료 조합으로 추천(레시피만)·상세(영상 없이)·JSON 직렬화를 반복 호출.
+ * 외부 API·할당량·조회 수 집계는 건드리지 않음.
+ */
+@Component
+public class StartupWarmup {
+
+    private final IngredientRepository ingredientRepository;
+    private final RecipeRecommendService recipeRecommendService;
+    private final RecipeDetailService recipeDetailService;
+    private final IngredientListPayload ingredientListPayload;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.startup.warmup.iterations:200}")
+    private int iterations;
+
+    public StartupWarmup(IngredientRepository ingredientRepository, RecipeRecommendService recipeRecommendService,
+                         RecipeDetailService recipeDetailService, IngredientListPayload ingredientListPayload,
+                         ObjectMapper objectMapper) {
+        this.ingredientRepository = ingredientRepository;
+        this.recipeRecommendService = recipeRecommendService;
+        this.recipeDetailService = recipeDetailService;
+        this.ingredientListPayload = ingredientListPayload;
+        this.objectMapper = objectMapper;
+    }
+
+    /** 호출 횟수 반환 */
+    public int run() throws JsonProcessingException {
+        List<Long> ids = ingredientRepository.findAllByOrderByNameAsc().stream().map(Ingredient::getId).toList();
+        if (ids.isEmpty()) return 0;
+        ingredientListPayload.current();
+        int calls = 0;
+        for (int i = 0; i < iterations; i++) {
+            // 재료 1~5개 조합을 결정적으로 돌려 가며 (무작위 모드·일치도 모드 번갈아)
+            Set<Long> selected = new LinkedHashSet<>();
+            for (int k = 0; k <= i % 5; k++) selected.add(ids.get((i * 7 + k * 13) % ids.size()));
+            Integer maxMissing = i % 2 == 0 ? null : i % 3;
+            List<RecipeDto> recipes = recipeRecommendService.recommendRecipes(selected, i % 4 == 0, maxMissing);
+            objectMapper.writeValueAsBytes(recipes);
+            calls++;
+            if (!recipes.isEmpty()) {
+                objectMapper.writeValueAsBytes(recipeDetailService.getDetailWithoutVideo(recipes.get(0).getId()));
+                calls++;
+            }
+        }
+        return calls;
+    }
+}
@@ -2,9 +2,11 @@ package com.fridge.config;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import com.fridge.web.ReadinessInterceptor;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.nio.charset.StandardCharsets;
@@ -19,6 +21,20 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${app.cors.allowed-origins:}")
     private String allowedOriginsConfig;
 
+    private final ReadinessInterceptor readinessInterceptor;
+
+    public WebConfig(ReadinessInterceptor readinessInterceptor) {
+        this.readinessInterceptor = readinessInterceptor;
+    }
+
+    /** 카탈로그 준비 전 요청은 기다리게 함. 준비 상태·사용량 조회는 제외 */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readinessInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/ready", "/api/youtube-quota", "/api/outbound-stats");
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         List<String> origins = Stream.concat(
@@ -0,0 +1,23 @@
+package com.fridge.dto;
+
+import com.fridge.config.MeteredConnectionManager;
+import com.fridge.service.OutboundResilience;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/** 외부 API 호출 상태 (커넥션 풀 등). 운영 확인용 */
+@Data
+@Builder
+public class OutboundStatsDto {
+    /** 외부 호출용 HTTP 커넥션 풀: 사용 중/유휴/대기, 재사용률, 연결 대기 시간 */
+    private MeteredConnectionManager.Stats httpPool;
+    /** 엔드포인트별 회로 차단기: 상태, 차단(short-circuit) 횟수, 헤지 요청 수, 최근 지연 백분위 */
+    private List<OutboundResilience.BreakerStats> breakers;
+    /** 레시피 순서 디스크 캐시: 적중(순서 있음)/negative 적중/미스, 파일 합계 크기 */
+    private long stepsCacheHits;
+    private long stepsCacheNegativeHits;
+    private long stepsCacheMisses;
+    private long stepsCacheBytes;
+}
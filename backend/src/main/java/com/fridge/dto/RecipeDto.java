@@ -19,4 +19,10 @@ public class RecipeDto {
     private List<String> ingredientNames;
     /** 유튜브 영상 ID (썸네일: https://img.youtube.com/vi/{youtubeVideoId}/mqdefault.jpg) */
     private String youtubeVideoId;
+    /** maxMissing 추천일 때만: 선택 재료 중 이 레시피에 쓰이는 수 */
+    private Integer matchedCount;
+    /** maxMissing 추천일 때만: 이 레시피에 필요한데 선택하지 않은 재료 수 */
+    private Integer missingCount;
+    /** maxMissing 추천일 때만: matchedCount / (matchedCount + missingCount) */
+    private Double coverage;
 }
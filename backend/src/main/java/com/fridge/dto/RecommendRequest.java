@@ -14,4 +14,6 @@ public class RecommendRequest {
     private List<String> ingredientNames;
     /** true: 해당 재료만 검색, false/null: 다양하게 검색(선택 재료 포함) */
     private Boolean strictOnly;
+    /** 지정 시 부족한 재료가 이 개수 이하인 레시피를 일치도 순으로 추천 (strictOnly보다 우선). 0이면 strict와 같은 결과 */
+    private Integer maxMissing;
 }
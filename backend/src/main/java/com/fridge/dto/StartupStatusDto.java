@@ -0,0 +1,18 @@
+package com.fridge.dto;
+
+import com.fridge.config.StartupTimeline;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StartupStatusDto {
+    /** LOADING | WARMING_UP | READY | FAILED */
+    private String state;
+    /** 기동 단계별 시간 (ms) */
+    private List<StartupTimeline.Phase> phases;
+}
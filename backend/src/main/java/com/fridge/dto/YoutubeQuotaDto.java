@@ -3,6 +3,8 @@ package com.fridge.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 @Builder
 public class YoutubeQuotaDto {
@@ -10,4 +12,12 @@ public class YoutubeQuotaDto {
     private int usedToday;
     /** 일일 한도 */
     private int limit;
+    /** 등급별(INTERACTIVE/DETAIL/PREFETCH) 한도 근접으로 거절된 호출 수 */
+    private Map<String, Long> shedCounts;
+    /** 재료 검색 캐시 적중 수 (기동 후 누적) */
+    private long searchCacheHits;
+    /** 재료 검색 캐시 미스 수 (기동 후 누적) */
+    private long searchCacheMisses;
+    /** 재료 검색 캐시에 저장된 조합 수 */
+    private int searchCacheSize;
 }
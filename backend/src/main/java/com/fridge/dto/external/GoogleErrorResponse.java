@@ -0,0 +1,48 @@
+package com.fridge.dto.external;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.util.List;
+
+/** Google API 오류 본문: {"error":{"code":403,"message":"...","errors":[{"reason":"quotaExceeded",...}]}} */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GoogleErrorResponse(Error error) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Error(Integer code, String message, List<Detail> errors) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Detail(String reason, String domain) {
+    }
+
+    /** 오류 응답 본문을 읽음. JSON이 아니거나(HTML 등) 변환할 수 없으면 null */
+    public static GoogleErrorResponse from(RestClientResponseException ex) {
+        try {
+            return ex.getResponseBodyAs(GoogleErrorResponse.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public boolean hasReason(String... reasons) {
+        if (error == null || error.errors() == null) return false;
+        for (Detail d : error.errors()) {
+            if (d == null || d.reason() == null) continue;
+            for (String r : reasons) {
+                if (r.equals(d.reason())) return true;
+            }
+        }
+        return false;
+    }
+
+    /** 일일 할당량 소진 (다음 날 0시 Pacific 기준 초기화) */
+    public boolean isQuotaExceeded() {
+        return hasReason("quotaExceeded", "dailyLimitExceeded");
+    }
+
+    public String message() {
+        return error != null ? error.message() : null;
+    }
+}
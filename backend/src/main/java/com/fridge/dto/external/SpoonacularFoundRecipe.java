@@ -0,0 +1,15 @@
+package com.fridge.dto.external;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** Spoonacular /recipes/findByIngredients 응답 배열의 원소 중 쓰는 필드만 */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SpoonacularFoundRecipe(Long id, String title, String image,
+                                     List<Ingredient> usedIngredients, List<Ingredient> missedIngredients) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Ingredient(String name) {
+    }
+}
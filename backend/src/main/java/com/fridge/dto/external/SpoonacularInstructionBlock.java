@@ -0,0 +1,14 @@
+package com.fridge.dto.external;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** Spoonacular analyzedInstructions 블록 (information 응답 안, /analyzedInstructions 응답 배열 원소) */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SpoonacularInstructionBlock(List<Step> steps) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Step(String step) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.fridge.dto.external;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** Spoonacular /recipes/{id}/information 응답 중 쓰는 필드만 */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record SpoonacularRecipeInformation(String title, String summary, String instructions,
+                                           List<ExtendedIngredient> extendedIngredients,
+                                           List<SpoonacularInstructionBlock> analyzedInstructions) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record ExtendedIngredient(String original) {
+    }
+}
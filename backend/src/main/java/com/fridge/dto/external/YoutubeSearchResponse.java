@@ -0,0 +1,30 @@
+package com.fridge.dto.external;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** YouTube Data API search.list 응답 중 쓰는 필드만 (items[].id.videoId, items[].snippet.title) */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record YoutubeSearchResponse(List<Item> items) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(Id id, Snippet snippet) {
+
+        public String videoId() {
+            return id != null ? id.videoId() : null;
+        }
+
+        public String title() {
+            return snippet != null ? snippet.title() : null;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Id(String videoId) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(String title) {
+    }
+}
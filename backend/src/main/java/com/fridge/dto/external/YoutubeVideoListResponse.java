@@ -0,0 +1,18 @@
+package com.fridge.dto.external;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** YouTube Data API videos.list 응답 중 쓰는 필드만 (items[].snippet.description) */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record YoutubeVideoListResponse(List<Item> items) {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Item(Snippet snippet) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Snippet(String description) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.fridge.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** 레시피 대표 영상 (메뉴명으로 찾은 최근 1년·조회수 1위). videoId가 null이면 검색 결과 없음 */
+@Entity
+@Table(name = "recipe_videos")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeVideo {
+
+    @Id
+    private Long recipeId;
+
+    @Column(length = 32)
+    private String videoId;
+
+    @Column(length = 500)
+    private String title;
+
+    @Column(nullable = false)
+    private Instant fetchedAt;
+}
@@ -0,0 +1,21 @@
+package com.fridge.repository;
+
+/**
+ * 레시피 상세 한 번 조회용 행 (RecipeRepository.findDetailRows).
+ * kind 0 = 레시피 (name, detail=설명, category, subCategory),
+ * kind 1 = 재료 (name=재료명, detail=수량), kind 2 = 요리 순서 (name=순서 문장). ord 순.
+ */
+public interface RecipeDetailRow {
+
+    Integer getKind();
+
+    String getName();
+
+    String getDetail();
+
+    String getCategory();
+
+    String getSubCategory();
+
+    Long getOrd();
+}
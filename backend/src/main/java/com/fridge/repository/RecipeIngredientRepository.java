@@ -2,6 +2,7 @@ package com.fridge.repository;
 
 import com.fridge.entity.RecipeIngredient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -11,4 +12,8 @@ public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredie
 
     /** N+1 방지: 여러 레시피의 재료를 한 번에 조회 */
     List<RecipeIngredient> findAllByRecipeIdIn(java.util.Collection<Long> recipeIds);
+
+    /** 재료 인덱스 구성용: [recipeId, ingredientId] 쌍만 조회 (엔티티 로딩 없음) */
+    @Query("SELECT ri.recipe.id, ri.ingredient.id FROM RecipeIngredient ri")
+    List<Object[]> findAllRecipeIngredientPairs();
 }
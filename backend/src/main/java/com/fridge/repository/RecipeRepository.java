@@ -3,24 +3,20 @@ package com.fridge.repository;
 import com.fridge.entity.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
 
-    @Query("""
-        SELECT r FROM Recipe r
-        WHERE NOT EXISTS (
-            SELECT ri FROM RecipeIngredient ri
-            WHERE ri.recipe = r AND ri.ingredient.id NOT IN :ingredientIds
-        )
-        AND EXISTS (SELECT ri2 FROM RecipeIngredient ri2 WHERE ri2.recipe = r)
-        ORDER BY r.name
-        """)
-    List<Recipe> findRecipesByAvailableIngredients(@Param("ingredientIds") List<Long> ingredientIds);
-
-    /** 선택한 재료 중 하나라도 쓰는 레시피 (추천 결과가 없을 때 보조용) */
-    @Query("SELECT DISTINCT r FROM Recipe r JOIN RecipeIngredient ri ON ri.recipe = r WHERE ri.ingredient.id IN :ingredientIds ORDER BY r.name")
-    List<Recipe> findRecipesUsingAnyIngredient(@Param("ingredientIds") List<Long> ingredientIds);
+    /** 상세 화면: 레시피·재료(수량)·순서를 쿼리 1번으로 (kind, ord 순). 레시피가 없으면 빈 목록 */
+    @Query(value = "SELECT 0 AS kind, r.name AS name, r.description AS detail, r.main_category AS category, "
+            + "r.sub_category AS subCategory, CAST(0 AS BIGINT) AS ord FROM recipes r WHERE r.id = :id "
+            + "UNION ALL "
+            + "SELECT 1, i.name, ri.amount, NULL, NULL, ri.id FROM recipe_ingredients ri "
+            + "JOIN ingredients i ON i.id = ri.ingredient_id WHERE ri.recipe_id = :id "
+            + "UNION ALL "
+            + "SELECT 2, s.step_text, NULL, NULL, NULL, CAST(s.step_order AS BIGINT) FROM recipe_steps s WHERE s.recipe_id = :id "
+            + "ORDER BY kind, ord",
+            nativeQuery = true)
+    List<RecipeDetailRow> findDetailRows(Long id);
 }
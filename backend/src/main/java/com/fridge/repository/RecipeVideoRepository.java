@@ -0,0 +1,18 @@
+package com.fridge.repository;
+
+import com.fridge.entity.Recipe;
+import com.fridge.entity.RecipeVideo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RecipeVideoRepository extends JpaRepository<RecipeVideo, Long> {
+
+    /** 영상이 아직 없거나 cutoff 이전에 채운 레시피 (id 순) */
+    @Query("SELECT r FROM Recipe r WHERE NOT EXISTS "
+            + "(SELECT 1 FROM RecipeVideo v WHERE v.recipeId = r.id AND v.fetchedAt >= :cutoff) ORDER BY r.id")
+    List<Recipe> findRecipesNeedingVideo(Instant cutoff, Pageable pageable);
+}
@@ -0,0 +1,81 @@
+package com.fridge.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 크기 제한 LRU 캐시 (선택적으로 TTL). 모든 접근은 this로 동기화.
+ * 원본이 바뀌면 {@link #clear()} → 세대(generation)가 올라가, 바뀌기 전에 읽기 시작한 값은
+ * {@link #put(Object, Object, long)}에서 버려짐 (무효화 직후 옛 값이 다시 들어가는 것 방지).
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxEntries;
+    /** 0이면 만료 없음 */
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long generation;
+
+    public BoundedCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = Math.max(0, ttlMillis);
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> e = entries.get(key);
+        if (e != null && ttlMillis > 0 && System.currentTimeMillis() - e.storedAt() > ttlMillis) {
+            entries.remove(key);
+            e = null;
+        }
+        if (e == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return e.value();
+    }
+
+    /** 값을 읽기 시작하기 전에 받아 둔 세대. put에 넘김 */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(K key, V value) {
+        put(key, value, generation);
+    }
+
+    /** 그 사이 clear()가 있었으면 저장하지 않음 */
+    public synchronized void put(K key, V value, long expectedGeneration) {
+        if (value == null || expectedGeneration != generation) return;
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private record Entry<V>(V value, long storedAt) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.fridge.service;
+
+import java.time.Instant;
+
+/** 회로 차단기가 열려 있어 외부 호출을 하지 않았음 (네트워크·할당량 사용 없음) */
+public class CallNotPermittedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String endpoint;
+    private final Instant openUntil;
+
+    public CallNotPermittedException(String endpoint, Instant openUntil, String reason) {
+        super(endpoint + " 호출 차단 중 (" + reason + ", " + openUntil + "까지)");
+        this.endpoint = endpoint;
+        this.openUntil = openUntil;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public Instant getOpenUntil() {
+        return openUntil;
+    }
+}
@@ -0,0 +1,81 @@
+package com.fridge.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * watch 페이지 본문을 바이트 스트림으로 읽으며 "captionTracks" 첫 baseUrl만 찾아냄.
+ * 페이지 전체(1MB+)를 String으로 만들지 않고 고정 크기 버퍼만 사용 (요청당 수 KB).
+ * 찾으면 바로 반환하므로 호출 측에서 나머지 본문을 받지 않고 연결을 끊을 수 있음.
+ */
+final class CaptionTrackScanner {
+
+    private static final byte[] MARKER = "\"captionTracks\"".getBytes(StandardCharsets.US_ASCII);
+    /** 마커 뒤 captionTracks[0].baseUrl 추출 */
+    private static final Pattern CAPTION_TRACKS_PATTERN = Pattern.compile(
+            "\"captionTracks\":\\s*\\[\\s*\\{\\s*\"baseUrl\":\"([^\"]+)\""
+    );
+    private static final int BUFFER_SIZE = 8 * 1024;
+    /** 마커부터 baseUrl 끝 따옴표까지 모을 최대 길이 (서명 URL이 길어도 1~2KB) */
+    private static final int MAX_CAPTURE = 8 * 1024;
+
+    private CaptionTrackScanner() {
+    }
+
+    /** baseUrl: 없으면 null (페이지 끝까지 읽음). bytesRead: 실제로 읽은 본문 바이트 수 */
+    record Result(String baseUrl, long bytesRead) {
+    }
+
+    static Result scan(InputStream in) throws IOException {
+        byte[] buf = new byte[BUFFER_SIZE];
+        int carry = 0;
+        long total = 0;
+        int n;
+        while ((n = in.read(buf, carry, buf.length - carry)) != -1) {
+            total += n;
+            int len = carry + n;
+            int at = indexOf(buf, len, MARKER);
+            if (at >= 0) {
+                byte[] capture = Arrays.copyOfRange(buf, at, len);
+                return capture(in, buf, capture, total);
+            }
+            // 청크 경계에 걸친 마커를 놓치지 않도록 끝부분만 남김
+            int keep = Math.min(len, MARKER.length - 1);
+            System.arraycopy(buf, len - keep, buf, 0, keep);
+            carry = keep;
+        }
+        return new Result(null, total);
+    }
+
+    /** 마커 이후 바이트를 baseUrl이 닫힐 때까지(최대 MAX_CAPTURE) 더 읽음 */
+    private static Result capture(InputStream in, byte[] buf, byte[] captured, long total) throws IOException {
+        byte[] acc = Arrays.copyOf(captured, Math.max(captured.length, Math.min(MAX_CAPTURE, BUFFER_SIZE)));
+        int size = captured.length;
+        while (true) {
+            Matcher m = CAPTION_TRACKS_PATTERN.matcher(new String(acc, 0, size, StandardCharsets.ISO_8859_1));
+            if (m.find()) return new Result(m.group(1), total);
+            if (size >= MAX_CAPTURE) return new Result(null, total);
+            int n = in.read(buf, 0, Math.min(buf.length, MAX_CAPTURE - size));
+            if (n == -1) return new Result(null, total);
+            total += n;
+            if (acc.length < size + n) acc = Arrays.copyOf(acc, Math.min(MAX_CAPTURE, Math.max(acc.length * 2, size + n)));
+            System.arraycopy(buf, 0, acc, size, n);
+            size += n;
+        }
+    }
+
+    private static int indexOf(byte[] data, int len, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= len - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
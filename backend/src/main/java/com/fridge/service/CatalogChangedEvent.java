@@ -0,0 +1,10 @@
+package com.fridge.service;
+
+/**
+ * 레시피·재료 카탈로그(DB)가 바뀌었을 때 발행.
+ * 카탈로그에서 파생된 인메모리 구조(재료 인덱스 등)는 이 이벤트를 받아 다시 만든다.
+ *
+ * @param source 변경을 일으킨 곳 (로그용, 예: "data.sql", "seed")
+ */
+public record CatalogChangedEvent(String source) {
+}
@@ -0,0 +1,79 @@
+package com.fridge.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 카탈로그(재료·레시피) 버전. CatalogChangedEvent마다 1 증가 (다른 리스너보다 먼저).
+ * HTTP ETag에 씀: 앞부분은 카탈로그 내용 지문(schema.sql·data.sql·시드 설정·빌드 시각 SHA-256 앞 12자리).
+ * 같은 빌드·같은 설정이면 재기동(Fly 콜드 스타트)해도 ETag가 그대로라 클라이언트 캐시가 304로 이어짐.
+ * 적재 순서가 정해져 있어 재기동 후 이벤트 횟수(버전)도 같음.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String contentId;
+    private final AtomicLong version = new AtomicLong();
+
+    /** 시드 규칙(SyntheticRecipeCatalog)은 코드라서 빌드 시각(build-info)도 지문에 넣음. 없으면(IDE 실행) 빼고 계산 */
+    public CatalogVersion(@Value("${app.recipe.seed.enabled:false}") boolean seedEnabled,
+                          @Value("${app.recipe.seed.mode:virtual}") String seedMode,
+                          ObjectProvider<BuildProperties> buildProperties) {
+        BuildProperties build = buildProperties.getIfAvailable();
+        String settings = "seed=" + seedEnabled + ":" + seedMode.trim().toLowerCase()
+                + (build != null && build.getTime() != null ? ";build=" + build.getTime().toEpochMilli() : "");
+        this.contentId = fingerprint(settings);
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    /** 강한 ETag ("내용지문-버전-suffix"). suffix는 ASCII만 */
+    public String etag(long version, String suffix) {
+        return "\"" + contentId + "-" + version + (suffix == null || suffix.isEmpty() ? "" : "-" + suffix) + "\"";
+    }
+
+    public String etag(String suffix) {
+        return etag(current(), suffix);
+    }
+
+    private static String fingerprint(String settings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String resource : List.of("schema.sql", "data.sql")) {
+                try (InputStream in = new ClassPathResource(resource).getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            digest.update(settings.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(), 0, 6);
+        } catch (IOException e) {
+            throw new UncheckedIOException("카탈로그 원본을 읽을 수 없습니다", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.fridge.service;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 엔드포인트 하나의 회로 차단기.
+ * 연속 실패가 임계치를 넘으면 OPEN → 일정 시간 호출하지 않고 바로 실패. 시간이 지나면 HALF_OPEN으로 한 건만 시험 호출해
+ * 성공하면 CLOSED, 실패하면 다시 OPEN. 할당량 초과처럼 끝나는 시점이 정해진 실패는 {@link #openUntil}로 그때까지 염.
+ * 최근 지연 시간(고정 크기 링 버퍼)도 보관해 헤지 요청 기준(백분위)으로 씀.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final int LATENCY_WINDOW = 128;
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private volatile State state = State.CLOSED;
+    private volatile long openUntilMillis;
+    private volatile String openReason;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    private final AtomicLong shortCircuited = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    private final long[] latencies = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyNext;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /** 호출해도 되면 true. OPEN이면 false (차단 횟수 집계), 시간이 지났으면 HALF_OPEN으로 시험 호출 1건만 허용 */
+    public synchronized boolean tryAcquire() {
+        if (state == State.CLOSED) return true;
+        if (state == State.OPEN && System.currentTimeMillis() >= openUntilMillis) {
+            state = State.HALF_OPEN;
+            probeInFlight.set(false);
+        }
+        if (state == State.HALF_OPEN && probeInFlight.compareAndSet(false, true)) return true;
+        shortCircuited.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void onSuccess(long latencyMillis) {
+        successes.incrementAndGet();
+        consecutiveFailures.set(0);
+        recordLatency(latencyMillis);
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            openReason = null;
+        }
+    }
+
+    public synchronized void onFailure(String reason) {
+        failures.incrementAndGet();
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open(System.currentTimeMillis() + openMillis, reason);
+        }
+    }
+
+    /** OPEN이고 아직 시간이 남았으면 true (상태를 바꾸지 않는 사전 확인용). 차단 횟수는 집계 */
+    public boolean rejectIfOpen() {
+        if (state == State.OPEN && System.currentTimeMillis() < openUntilMillis) {
+            shortCircuited.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /** 정해진 시각까지 염 (예: 할당량 초과 → 다음 날 0시) */
+    public synchronized void openUntil(Instant until, String reason) {
+        failures.incrementAndGet();
+        open(until.toEpochMilli(), reason);
+    }
+
+    private void open(long untilMillis, String reason) {
+        state = State.OPEN;
+        openUntilMillis = untilMillis;
+        openReason = reason;
+        consecutiveFailures.set(0);
+    }
+
+    private void recordLatency(long millis) {
+        latencies[latencyNext] = millis;
+        latencyNext = (latencyNext + 1) % LATENCY_WINDOW;
+        if (latencyCount < LATENCY_WINDOW) latencyCount++;
+    }
+
+    /** 최근 성공 호출 지연의 백분위(ms). 표본이 minSamples 미만이면 -1 */
+    public synchronized long latencyPercentile(double percentile, int minSamples) {
+        if (latencyCount < minSamples) return -1;
+        long[] copy = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(copy);
+        int idx = (int) Math.min(copy.length - 1, Math.ceil(percentile * copy.length) - 1);
+        return copy[Math.max(0, idx)];
+    }
+
+    void recordHedge(boolean won) {
+        if (won) hedgeWins.incrementAndGet();
+        else hedged.incrementAndGet();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Instant getOpenUntil() {
+        return state == State.CLOSED ? null : Instant.ofEpochMilli(openUntilMillis);
+    }
+
+    public String getOpenReason() {
+        return openReason;
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getSuccesses() {
+        return successes.get();
+    }
+
+    public long getHedged() {
+        return hedged.get();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+}
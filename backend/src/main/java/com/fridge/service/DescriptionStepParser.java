@@ -0,0 +1,34 @@
+package com.fridge.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 영상 설명(description)을 번호·줄 단위로 잘라 레시피 단계로 변환 (자막이 없을 때).
+ * 줄 단위로 먼저 자르고, 한 줄짜리 설명이면 "1." "2)" 같은 번호로 다시 자름. URL 줄은 버림.
+ */
+public final class DescriptionStepParser {
+
+    private DescriptionStepParser() {
+    }
+
+    public static List<String> parse(String description, int maxSteps, int minStepLength) {
+        if (description == null || description.isBlank()) return List.of();
+        String normalized = description.replace("\r\n", "\n").replace("\r", "\n").trim();
+        List<String> steps = new ArrayList<>();
+        for (String line : normalized.split("\n")) {
+            String t = line.replaceAll("^[\\d]+[.)\\s]+", "").trim();
+            if (t.length() >= minStepLength && !t.matches("^https?://.*") && !t.startsWith("http")) {
+                steps.add(t);
+            }
+        }
+        if (steps.isEmpty() && normalized.length() >= minStepLength) {
+            String[] byNumber = normalized.split("\\s*[\\d]+[.)]\\s*");
+            for (String s : byNumber) {
+                String t = s.trim();
+                if (t.length() >= minStepLength && !t.startsWith("http")) steps.add(t);
+            }
+        }
+        return steps.size() > maxSteps ? List.copyOf(steps.subList(0, maxSteps)) : steps;
+    }
+}
@@ -0,0 +1,171 @@
+package com.fridge.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * memory-mapped 파일 장부. 같은 머신(같은 볼륨)의 여러 프로세스가 한 파일을 공유하고,
+ * 갱신은 파일 잠금(FileChannel.lock) 안에서 읽고-쓰고-force 하므로 재시작·동시 실행에도 한도를 넘지 않음.
+ * <pre>
+ * [0..3] magic "QLDG" [4..7] version
+ * [64 + 64*i] 슬롯 i: 버킷명(48바이트, UTF-8, 0 채움) | epochDay(long) | used(long)
+ * </pre>
+ */
+public class FileQuotaLedger implements QuotaLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(FileQuotaLedger.class);
+
+    private static final int MAGIC = 0x514C4447; // "QLDG"
+    private static final int VERSION = 1;
+    private static final int FILE_SIZE = 4096;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 64;
+    private static final int NAME_SIZE = 48;
+    private static final int SLOT_COUNT = (FILE_SIZE - HEADER_SIZE) / SLOT_SIZE;
+
+    /** 파일 경로별 JVM 안 잠금. FileLock은 JVM 단위라 같은 파일을 연 장부가 둘이면 겹친 잠금 예외가 나므로 경로로 공유 */
+    private static final ConcurrentHashMap<Path, Object> JVM_LOCKS = new ConcurrentHashMap<>();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Object jvmLock;
+
+    public FileQuotaLedger(Path path) {
+        this.jvmLock = JVM_LOCKS.computeIfAbsent(path.toAbsolutePath().normalize(), p -> new Object());
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+            withLock(() -> {
+                if (buffer.getInt(0) != MAGIC) {
+                    for (int i = 0; i < FILE_SIZE; i++) buffer.put(i, (byte) 0);
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, VERSION);
+                    buffer.force();
+                }
+                return null;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("쿼터 장부 파일을 열 수 없습니다: " + path, e);
+        }
+    }
+
+    @Override
+    public boolean tryConsume(String bucket, long epochDay, int cost, int ceiling) {
+        return withLock(() -> {
+            int slot = slotFor(bucket, true);
+            // 늦게 도착한 전날 예약이 오늘 슬롯을 전날로 덮어쓰면 모든 프로세스의 오늘 사용량이 사라지므로 거절
+            if (epochDay < buffer.getLong(slot + NAME_SIZE)) return false;
+            int used = usedAt(slot, epochDay);
+            if (used + cost > ceiling) return false;
+            write(slot, epochDay, used + cost);
+            return true;
+        });
+    }
+
+    @Override
+    public void refund(String bucket, long epochDay, int cost) {
+        withLock(() -> {
+            int slot = slotFor(bucket, false);
+            if (slot < 0 || buffer.getLong(slot + NAME_SIZE) != epochDay) return null;
+            write(slot, epochDay, Math.max(0, usedAt(slot, epochDay) - cost));
+            return null;
+        });
+    }
+
+    @Override
+    public int used(String bucket, long epochDay) {
+        return withLock(() -> {
+            int slot = slotFor(bucket, false);
+            return slot < 0 ? 0 : usedAt(slot, epochDay);
+        });
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int usedAt(int slot, long epochDay) {
+        return buffer.getLong(slot + NAME_SIZE) == epochDay ? (int) buffer.getLong(slot + NAME_SIZE + 8) : 0;
+    }
+
+    private void write(int slot, long epochDay, int used) {
+        buffer.putLong(slot + NAME_SIZE, epochDay);
+        buffer.putLong(slot + NAME_SIZE + 8, used);
+        buffer.force();
+    }
+
+    /** 버킷 슬롯의 바이트 오프셋. 없으면 create=true일 때 빈 슬롯에 등록, 아니면 -1 */
+    private int slotFor(String bucket, boolean create) {
+        byte[] name = bucket.getBytes(StandardCharsets.UTF_8);
+        if (name.length > NAME_SIZE) throw new IllegalArgumentException("버킷 이름이 너무 깁니다: " + bucket);
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            int offset = HEADER_SIZE + i * SLOT_SIZE;
+            if (buffer.get(offset) == 0) {
+                if (!create) return -1;
+                ByteBuffer slice = buffer.slice(offset, NAME_SIZE);
+                slice.put(name);
+                return offset;
+            }
+            if (nameEquals(offset, name)) return offset;
+        }
+        throw new IllegalStateException("쿼터 장부 슬롯이 가득 찼습니다");
+    }
+
+    private boolean nameEquals(int offset, byte[] name) {
+        for (int i = 0; i < NAME_SIZE; i++) {
+            byte expected = i < name.length ? name[i] : 0;
+            if (buffer.get(offset + i) != expected) return false;
+        }
+        return true;
+    }
+
+    /** 프로세스 간에는 파일 잠금, 같은 JVM 안에서는 경로별 synchronized (FileLock은 JVM 단위라 스레드끼리는 못 막음) */
+    private <T> T withLock(IoSupplier<T> action) {
+        synchronized (jvmLock) {
+            return withFileLock(action);
+        }
+    }
+
+    private <T> T withFileLock(IoSupplier<T> action) {
+        FileLock lock;
+        try {
+            lock = channel.lock();
+        } catch (IOException e) {
+            throw new UncheckedIOException("쿼터 장부 파일 잠금 실패", e);
+        }
+        try {
+            return action.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException("쿼터 장부 파일 갱신 실패", e);
+        } finally {
+            try {
+                lock.release();
+            } catch (IOException e) {
+                log.warn("쿼터 장부 파일 잠금 해제 실패: {}", e.getMessage());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+}
@@ -0,0 +1,95 @@
+package com.fridge.service;
+
+/**
+ * 한글 음절을 호환 자모로 분해. 겹모음·겹받침도 낱자로 풀어서 입력 중인 글자(예: "도" → "돼")도 접두어로 맞도록 함.
+ * 예: "돼지고기" → "ㄷㅗㅐㅈㅣㄱㅗㄱㅣ", 초성: "ㄷㅈㄱㄱ"
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"
+    };
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ",
+            "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    private HangulJamo() {
+    }
+
+    /** 음절은 자모로, 겹자모(ㅘ, ㄺ 등)는 낱자로, 그 밖의 문자는 소문자로. 공백은 제거 */
+    public static String decompose(String text) {
+        if (text == null || text.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int idx = c - SYLLABLE_BASE;
+                sb.append(CHO[idx / (JUNG_COUNT * JONG_COUNT)])
+                        .append(JUNG[(idx % (JUNG_COUNT * JONG_COUNT)) / JONG_COUNT])
+                        .append(JONG[idx % JONG_COUNT]);
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(splitCompatibilityJamo(Character.toLowerCase(c)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** 음절의 초성만 이어 붙임. 음절이 아닌 문자는 decompose와 같게 처리 */
+    public static String initials(String text) {
+        if (text == null || text.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                sb.append(CHO[(c - SYLLABLE_BASE) / (JUNG_COUNT * JONG_COUNT)]);
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(splitCompatibilityJamo(Character.toLowerCase(c)));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** 입력이 모두 자음(호환 자모)이면 true. 예: "ㄷㅈ" */
+    public static boolean isInitialsOnly(String text) {
+        if (text == null || text.isBlank()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (c < 'ㄱ' || c > 'ㅎ') return false;
+        }
+        return true;
+    }
+
+    private static String splitCompatibilityJamo(char c) {
+        switch (c) {
+            case 'ㄳ': return "ㄱㅅ";
+            case 'ㄵ': return "ㄴㅈ";
+            case 'ㄶ': return "ㄴㅎ";
+            case 'ㄺ': return "ㄹㄱ";
+            case 'ㄻ': return "ㄹㅁ";
+            case 'ㄼ': return "ㄹㅂ";
+            case 'ㄽ': return "ㄹㅅ";
+            case 'ㄾ': return "ㄹㅌ";
+            case 'ㄿ': return "ㄹㅍ";
+            case 'ㅀ': return "ㄹㅎ";
+            case 'ㅄ': return "ㅂㅅ";
+            case 'ㅘ': return "ㅗㅏ";
+            case 'ㅙ': return "ㅗㅐ";
+            case 'ㅚ': return "ㅗㅣ";
+            case 'ㅝ': return "ㅜㅓ";
+            case 'ㅞ': return "ㅜㅔ";
+            case 'ㅟ': return "ㅜㅣ";
+            case 'ㅢ': return "ㅡㅣ";
+            default: return String.valueOf(c);
+        }
+    }
+}
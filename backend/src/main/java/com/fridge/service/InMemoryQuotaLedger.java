@@ -0,0 +1,58 @@
+package com.fridge.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 힙에만 두는 장부 (재시작하면 0부터). 버킷마다 날짜(상위 32비트)와 사용량(하위 32비트)을 long 하나에 담아
+ * CAS로만 갱신 → 락 없이 날짜 변경과 동시 예약이 정확히 맞물림. 날짜는 앞으로만 감 (이전 날짜 예약은 거절).
+ */
+public class InMemoryQuotaLedger implements QuotaLedger {
+
+    private final ConcurrentHashMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean tryConsume(String bucket, long epochDay, int cost, int ceiling) {
+        AtomicLong state = states.computeIfAbsent(bucket, k -> new AtomicLong(0));
+        while (true) {
+            long current = state.get();
+            // 늦게 도착한 전날 예약: 오늘 기록을 전날로 덮어쓰면 오늘 사용량이 0이 되므로 거절
+            if (epochDay < dayOf(current)) return false;
+            int used = dayOf(current) == epochDay ? usedOf(current) : 0;
+            if (used + cost > ceiling) return false;
+            if (state.compareAndSet(current, pack(epochDay, used + cost))) return true;
+        }
+    }
+
+    @Override
+    public void refund(String bucket, long epochDay, int cost) {
+        AtomicLong state = states.get(bucket);
+        if (state == null) return;
+        while (true) {
+            long current = state.get();
+            if (dayOf(current) != epochDay) return;
+            int used = Math.max(0, usedOf(current) - cost);
+            if (state.compareAndSet(current, pack(epochDay, used))) return;
+        }
+    }
+
+    @Override
+    public int used(String bucket, long epochDay) {
+        AtomicLong state = states.get(bucket);
+        if (state == null) return 0;
+        long current = state.get();
+        return dayOf(current) == epochDay ? usedOf(current) : 0;
+    }
+
+    private static long pack(long epochDay, int used) {
+        return (epochDay << 32) | (used & 0xFFFFFFFFL);
+    }
+
+    private static long dayOf(long packed) {
+        return packed >>> 32;
+    }
+
+    private static int usedOf(long packed) {
+        return (int) packed;
+    }
+}
@@ -0,0 +1,135 @@
+package com.fridge.service;
+
+import com.fridge.entity.Ingredient;
+import com.fridge.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * ingredients 테이블을 메모리에 올려 둔 사전. id·정규화된 이름으로 조회.
+ * 추천 요청마다 재료명을 DB에서 한 건씩 찾지 않도록 함. 카탈로그가 바뀌면 다시 읽음.
+ * 이름 정규화: 앞뒤 공백 제거, 연속 공백 하나로, 유니코드 NFC, 소문자, 별칭(계란 → 달걀 등) 치환.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngredientDictionary {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientDictionary.class);
+
+    /** 사용자가 흔히 쓰는 다른 이름 → data.sql 재료명 */
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("계란", "달걀"), Map.entry("파", "대파"), Map.entry("쪽파", "대파"),
+            Map.entry("돈육", "돼지고기"), Map.entry("쇠고기", "소고기"), Map.entry("닭", "닭고기"),
+            Map.entry("참치", "참치캔"), Map.entry("쌀밥", "밥"), Map.entry("공기밥", "밥"),
+            Map.entry("호박", "애호박"), Map.entry("라면사리", "라면")
+    );
+
+    private final IngredientRepository ingredientRepository;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        reload();
+        log.debug("재료 사전 재구성 ({}): {}개", event.source(), snapshot.byId.size());
+    }
+
+    public synchronized void reload() {
+        snapshot = Snapshot.of(ingredientRepository.findAllByOrderByNameAsc());
+    }
+
+    /** 입력 id·이름을 재료 id 집합과 외부 API 검색용 이름 목록으로 변환. DB 조회 없음 */
+    public Resolution resolve(Collection<Long> ingredientIds, Collection<String> ingredientNames) {
+        Snapshot s = current();
+        Set<Long> ids = new LinkedHashSet<>();
+        List<String> names = new ArrayList<>();
+        if (ingredientIds != null) {
+            for (Long id : ingredientIds) {
+                Entry e = id != null ? s.byId.get(id) : null;
+                if (e != null && ids.add(e.id())) names.add(e.name());
+            }
+        }
+        if (ingredientNames != null) {
+            for (String raw : ingredientNames) {
+                String key = normalize(raw);
+                if (key.isEmpty()) continue;
+                Entry e = s.byName.get(key);
+                if (e != null) {
+                    if (ids.add(e.id())) names.add(e.name());
+                } else {
+                    // 사전에 없는 재료도 외부 검색(YouTube 등)에는 그대로 사용
+                    String display = Normalizer.normalize(raw.trim(), Normalizer.Form.NFC);
+                    if (!names.contains(display)) names.add(display);
+                }
+            }
+        }
+        return new Resolution(ids, names);
+    }
+
+    public Optional<Entry> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().byId.get(id));
+    }
+
+    public Optional<Entry> findByName(String name) {
+        String key = normalize(name);
+        return key.isEmpty() ? Optional.empty() : Optional.ofNullable(current().byName.get(key));
+    }
+
+    /** 재료 id → 이름. 없으면 null */
+    public String nameOf(Long id) {
+        Entry e = id != null ? current().byId.get(id) : null;
+        return e != null ? e.name() : null;
+    }
+
+    /** 이름순 전체 재료 */
+    public List<Entry> all() {
+        return current().sorted;
+    }
+
+    /** 공백 정리·NFC·소문자·별칭 치환. null이면 빈 문자열 */
+    public static String normalize(String name) {
+        if (name == null) return "";
+        String s = name.strip();
+        if (s.isEmpty()) return "";
+        s = Normalizer.normalize(s, Normalizer.Form.NFC).replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return ALIASES.getOrDefault(s, s);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snapshot == null) reload();
+            return snapshot;
+        }
+    }
+
+    public record Entry(Long id, String name, String category) {
+    }
+
+    /** @param ids 찾은 재료 id (입력 순서 유지), @param names 외부 API 검색용 이름 (찾은 재료명 + 사전에 없는 입력) */
+    public record Resolution(Set<Long> ids, List<String> names) {
+    }
+
+    private record Snapshot(Map<Long, Entry> byId, Map<String, Entry> byName, List<Entry> sorted) {
+
+        static Snapshot of(List<Ingredient> ingredients) {
+            Map<Long, Entry> byId = new HashMap<>(ingredients.size() * 2);
+            Map<String, Entry> byName = new HashMap<>(ingredients.size() * 2);
+            List<Entry> sorted = new ArrayList<>(ingredients.size());
+            for (Ingredient i : ingredients) {
+                Entry e = new Entry(i.getId(), i.getName(), i.getCategory());
+                byId.put(e.id(), e);
+                byName.putIfAbsent(normalize(e.name()), e);
+                sorted.add(e);
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byName), List.copyOf(sorted));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.fridge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fridge.dto.IngredientDto;
+import com.fridge.repository.IngredientRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET /api/ingredients 응답을 미리 직렬화·gzip 압축해 둔 바이트. 카탈로그가 바뀔 때만 다시 만듦
+ * (페이지 열 때마다 DB 조회·JSON 직렬화·압축을 반복하지 않음).
+ */
+@Component
+public class IngredientListPayload {
+
+    private final IngredientRepository ingredientRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
+    private volatile Payload payload;
+
+    public IngredientListPayload(IngredientRepository ingredientRepository, ObjectMapper objectMapper,
+                                 CatalogVersion catalogVersion) {
+        this.ingredientRepository = ingredientRepository;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        payload = null;
+    }
+
+    /** 만든 뒤 카탈로그 버전이 올랐으면 다시 만듦 (적재 도중 들어온 요청이 만든 옛 바이트가 남지 않도록) */
+    public Payload current() {
+        Payload p = payload;
+        if (p == null || p.version() != catalogVersion.current()) {
+            synchronized (this) {
+                p = payload;
+                if (p == null || p.version() != catalogVersion.current()) {
+                    p = build();
+                    payload = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    private Payload build() {
+        // 버전을 먼저 읽음: 읽는 도중 카탈로그가 바뀌면 내용이 더 새롭고 ETag는 옛 버전 → 다음 요청에서 다시 받음
+        long version = catalogVersion.current();
+        List<IngredientDto> dtos = ingredientRepository.findAllByOrderByNameAsc().stream()
+                .map(i -> IngredientDto.builder()
+                        .id(i.getId())
+                        .name(i.getName())
+                        .category(i.getCategory())
+                        .build())
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(dtos);
+            return new Payload(version, catalogVersion.etag(version, "ingredients"), catalogVersion.etag(version, "ingredients-gz"),
+                    json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /** 압축본은 바이트가 달라 강한 ETag도 따로 (같은 태그면 캐시가 Range·재검증에서 두 본문을 섞을 수 있음) */
+    public record Payload(long version, String etag, String gzipEtag, byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,192 @@
+package com.fridge.service;
+
+import com.fridge.entity.Ingredient;
+import com.fridge.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+
+/**
+ * 재료 자동완성용 자모 n-gram 인덱스.
+ * 재료명을 자모("돼지고기" → "ㄷㅗㅐㅈㅣㄱㅗㄱㅣ")와 초성("ㄷㅈㄱㄱ")으로 풀어 1·2-gram 역색인을 만들고,
+ * 질의는 가장 짧은 포스팅 목록만 훑어 확인. "ㄷㅈ", "돼지고", "고기" 모두 매칭.
+ * 정렬: 자모 접두어 → 초성 접두어 → 자모 부분일치 → 초성 부분일치, 같은 등급은 레시피에 많이 쓰인 재료 먼저.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngredientSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(IngredientSuggestIndex.class);
+    private static final int[] EMPTY = new int[0];
+
+    private final IngredientRepository ingredientRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        rebuild();
+        log.debug("자동완성 인덱스 재구성 ({}): {}개", event.source(), snapshot.ingredients.length);
+    }
+
+    public synchronized void rebuild() {
+        snapshot = Snapshot.build(ingredientRepository.findAllByOrderByNameAsc());
+    }
+
+    /** 질의와 맞는 재료를 최대 limit개 */
+    public List<Ingredient> suggest(String query, int limit) {
+        if (query == null || limit <= 0) return List.of();
+        String q = Normalizer.normalize(query.strip(), Normalizer.Form.NFC);
+        if (q.isEmpty()) return List.of();
+        Snapshot s = current();
+        String jamoQuery = HangulJamo.decompose(q);
+        boolean initialsOnly = HangulJamo.isInitialsOnly(q);
+        if (jamoQuery.isEmpty()) return List.of();
+
+        int[] candidates = s.candidates(jamoQuery, s.jamoGrams);
+        if (initialsOnly) candidates = union(candidates, s.candidates(jamoQuery, s.initialGrams));
+
+        PriorityQueue<Hit> heap = new PriorityQueue<>(limit + 1, Hit.BEST_FIRST.reversed());
+        for (int idx : candidates) {
+            int tier = tier(s, idx, jamoQuery, initialsOnly);
+            if (tier < 0) continue;
+            Ingredient ing = s.ingredients[idx];
+            Hit hit = new Hit(idx, tier, recipeIngredientIndex.recipeCount(ing.getId()), ing.getName());
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (Hit.BEST_FIRST.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(Hit.BEST_FIRST);
+        List<Ingredient> result = new ArrayList<>(hits.size());
+        for (Hit h : hits) result.add(s.ingredients[h.index()]);
+        return result;
+    }
+
+    /** 0: 자모 접두어, 1: 초성 접두어, 2: 자모 부분일치, 3: 초성 부분일치, -1: 불일치 */
+    private static int tier(Snapshot s, int idx, String jamoQuery, boolean initialsOnly) {
+        String jamo = s.jamo[idx];
+        if (jamo.startsWith(jamoQuery)) return 0;
+        String initials = s.initials[idx];
+        if (initialsOnly && initials.startsWith(jamoQuery)) return 1;
+        if (jamo.contains(jamoQuery)) return 2;
+        if (initialsOnly && initials.contains(jamoQuery)) return 3;
+        return -1;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) return b;
+        if (b.length == 0) return a;
+        int[] out = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) out[n++] = a[i++];
+            else if (a[i] > b[j]) out[n++] = b[j++];
+            else { out[n++] = a[i++]; j++; }
+        }
+        while (i < a.length) out[n++] = a[i++];
+        while (j < b.length) out[n++] = b[j++];
+        return Arrays.copyOf(out, n);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snapshot == null) rebuild();
+            return snapshot;
+        }
+    }
+
+    private record Hit(int index, int tier, int recipeCount, String name) {
+        static final Comparator<Hit> BEST_FIRST = Comparator
+                .comparingInt(Hit::tier)
+                .thenComparing(Comparator.comparingInt(Hit::recipeCount).reversed())
+                .thenComparingInt(h -> h.name().length())
+                .thenComparing(Hit::name);
+    }
+
+    private static final class Snapshot {
+        private final Ingredient[] ingredients;
+        private final String[] jamo;
+        private final String[] initials;
+        /** n-gram 키 → 재료 인덱스 오름차순. 키: 1-gram은 문자 코드, 2-gram은 (c1 << 16 | c2) */
+        private final Map<Integer, int[]> jamoGrams;
+        private final Map<Integer, int[]> initialGrams;
+
+        private Snapshot(Ingredient[] ingredients, String[] jamo, String[] initials,
+                         Map<Integer, int[]> jamoGrams, Map<Integer, int[]> initialGrams) {
+            this.ingredients = ingredients;
+            this.jamo = jamo;
+            this.initials = initials;
+            this.jamoGrams = jamoGrams;
+            this.initialGrams = initialGrams;
+        }
+
+        static Snapshot build(List<Ingredient> all) {
+            int n = all.size();
+            Ingredient[] ingredients = all.toArray(new Ingredient[0]);
+            String[] jamo = new String[n];
+            String[] initials = new String[n];
+            for (int i = 0; i < n; i++) {
+                String name = Normalizer.normalize(ingredients[i].getName(), Normalizer.Form.NFC);
+                jamo[i] = HangulJamo.decompose(name);
+                initials[i] = HangulJamo.initials(name);
+            }
+            return new Snapshot(ingredients, jamo, initials, grams(jamo), grams(initials));
+        }
+
+        private static Map<Integer, int[]> grams(String[] texts) {
+            Map<Integer, int[]> postings = new HashMap<>();
+            Map<Integer, Integer> sizes = new HashMap<>();
+            for (int i = 0; i < texts.length; i++) {
+                String t = texts[i];
+                for (int k = 0; k < t.length(); k++) {
+                    add(postings, sizes, t.charAt(k), i);
+                    if (k + 1 < t.length()) add(postings, sizes, (t.charAt(k) << 16) | t.charAt(k + 1), i);
+                }
+            }
+            Map<Integer, int[]> trimmed = new HashMap<>(postings.size() * 2);
+            postings.forEach((key, arr) -> trimmed.put(key, Arrays.copyOf(arr, sizes.get(key))));
+            return trimmed;
+        }
+
+        /** 재료 인덱스를 오름차순으로 넣으므로 같은 재료의 중복은 마지막 값만 비교하면 됨 */
+        private static void add(Map<Integer, int[]> postings, Map<Integer, Integer> sizes, int key, int idx) {
+            int[] arr = postings.get(key);
+            int size = sizes.getOrDefault(key, 0);
+            if (arr == null) {
+                arr = new int[4];
+                postings.put(key, arr);
+            } else if (arr[size - 1] == idx) {
+                return;
+            } else if (size == arr.length) {
+                arr = Arrays.copyOf(arr, size * 2);
+                postings.put(key, arr);
+            }
+            arr[size] = idx;
+            sizes.put(key, size + 1);
+        }
+
+        /** 질의의 n-gram 중 포스팅이 가장 짧은 목록 (후보는 나중에 문자열 비교로 확인) */
+        int[] candidates(String query, Map<Integer, int[]> grams) {
+            if (query.length() == 1) return grams.getOrDefault((int) query.charAt(0), EMPTY);
+            int[] best = null;
+            for (int k = 0; k + 1 < query.length(); k++) {
+                int[] p = grams.get((query.charAt(k) << 16) | query.charAt(k + 1));
+                if (p == null) return EMPTY;
+                if (best == null || p.length < best.length) best = p;
+            }
+            return best;
+        }
+    }
+}
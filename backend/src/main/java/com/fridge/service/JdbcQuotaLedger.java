@@ -0,0 +1,88 @@
+package com.fridge.service;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 공유 DB 장부. 여러 인스턴스가 같은 DB를 보면 하나의 예산을 나눠 씀.
+ * 예약은 "used + cost ≤ ceiling" 조건부 UPDATE 한 문장이라 인스턴스끼리 경쟁해도 한도를 넘지 않음.
+ */
+public class JdbcQuotaLedger implements QuotaLedger {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS quota_ledger (
+                bucket    VARCHAR(48) NOT NULL,
+                epoch_day BIGINT      NOT NULL,
+                used      INT         NOT NULL,
+                PRIMARY KEY (bucket, epoch_day)
+            )""";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** dataSource는 장부 전용 (close 시 함께 닫음) */
+    public JdbcQuotaLedger(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    @Override
+    public boolean tryConsume(String bucket, long epochDay, int cost, int ceiling) {
+        if (cost > ceiling) return false;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            // 이미 더 뒤 날짜 행이 있으면 늦게 도착한 전날 예약이므로 거절 (다른 장부와 같은 규칙)
+            int updated = jdbcTemplate.update(
+                    "UPDATE quota_ledger SET used = used + ? WHERE bucket = ? AND epoch_day = ? AND used + ? <= ? "
+                            + "AND NOT EXISTS (SELECT 1 FROM quota_ledger n WHERE n.bucket = ? AND n.epoch_day > ?)",
+                    cost, bucket, epochDay, cost, ceiling, bucket, epochDay);
+            if (updated == 1) return true;
+            if (rowExists(bucket, epochDay) || newerDayExists(bucket, epochDay)) return false;
+            try {
+                // 그날 첫 호출: 행 생성. 다른 인스턴스가 먼저 만들었으면 UPDATE 다시 시도
+                jdbcTemplate.update("INSERT INTO quota_ledger (bucket, epoch_day, used) VALUES (?, ?, ?)", bucket, epochDay, cost);
+                return true;
+            } catch (DuplicateKeyException e) {
+                // retry
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void refund(String bucket, long epochDay, int cost) {
+        jdbcTemplate.update("UPDATE quota_ledger SET used = GREATEST(used - ?, 0) WHERE bucket = ? AND epoch_day = ?",
+                cost, bucket, epochDay);
+    }
+
+    @Override
+    public int used(String bucket, long epochDay) {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT used FROM quota_ledger WHERE bucket = ? AND epoch_day = ?", Integer.class, bucket, epochDay);
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+
+    @Override
+    public void close() {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // 종료 중이므로 무시
+            }
+        }
+    }
+
+    private boolean newerDayExists(String bucket, long epochDay) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM quota_ledger WHERE bucket = ? AND epoch_day > ? LIMIT 1", Integer.class, bucket, epochDay).isEmpty();
+    }
+
+    private boolean rowExists(String bucket, long epochDay) {
+        return !jdbcTemplate.queryForList(
+                "SELECT 1 FROM quota_ledger WHERE bucket = ? AND epoch_day = ?", Integer.class, bucket, epochDay).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.fridge.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 유튜브 json3 자막({"events":[{"segs":[{"utf8":"..."}]}]})을 JsonParser로 앞에서부터 읽으며 줄 단위로 넘김.
+ * Map/List 트리나 줄 목록을 만들지 않고, 이벤트 하나의 segs를 한 줄로 이어 바로 organizer에 전달.
+ * organizer가 다 차면 나머지는 읽지 않음.
+ */
+public final class Json3TranscriptReader {
+
+    private Json3TranscriptReader() {
+    }
+
+    public static void read(JsonFactory factory, InputStream in, TranscriptStepOrganizer organizer) throws IOException {
+        try (JsonParser p = factory.createParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) return;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                JsonToken value = p.nextToken();
+                if ("events".equals(field) && value == JsonToken.START_ARRAY) {
+                    readEvents(p, organizer);
+                    return;
+                }
+                p.skipChildren();
+            }
+        }
+    }
+
+    private static void readEvents(JsonParser p, TranscriptStepOrganizer organizer) throws IOException {
+        StringBuilder line = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+            if (t != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            line.setLength(0);
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                JsonToken value = p.nextToken();
+                if ("segs".equals(field) && value == JsonToken.START_ARRAY) readSegs(p, line);
+                else p.skipChildren();
+            }
+            if (line.length() > 0) {
+                organizer.accept(line);
+                if (organizer.isFull()) return;
+            }
+        }
+    }
+
+    private static void readSegs(JsonParser p, StringBuilder line) throws IOException {
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+            if (t != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                JsonToken value = p.nextToken();
+                if ("utf8".equals(field) && value == JsonToken.VALUE_STRING) {
+                    String utf8 = p.getText();
+                    if (!utf8.isBlank()) line.append(utf8.trim());
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+    }
+}
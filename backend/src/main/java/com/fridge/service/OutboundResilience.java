@@ -0,0 +1,242 @@
+package com.fridge.service;
+
+import com.fridge.dto.external.GoogleErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 외부 호출 보호막: 엔드포인트별 회로 차단기 + (선택) 헤지 요청.
+ * - 연결·읽기 타임아웃, 5xx, 429가 연속되면 잠시 호출을 끊어 Tomcat 스레드가 타임아웃을 기다리며 묶이지 않게 함
+ * - 할당량 초과(YouTube 403 quotaExceeded, Spoonacular 402)는 다음 날 0시(Asia/Seoul)까지 차단
+ * - 헤지: 최근 지연 백분위를 넘도록 응답이 없으면 같은 GET을 한 번 더 보내 먼저 온 응답을 씀.
+ *   할당량을 쓰지 않는 엔드포인트(watch 페이지, 자막)에만 설정하고, 요청 스레드에서만 호출할 것
+ *   (externalCallExecutor 안에서 부르면 같은 풀을 기다리게 됨)
+ */
+@Component
+public class OutboundResilience {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundResilience.class);
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    public static final String YOUTUBE_SEARCH = "youtube-search";
+    public static final String YOUTUBE_VIDEOS = "youtube-videos";
+    public static final String YOUTUBE_WATCH = "youtube-watch";
+    public static final String YOUTUBE_TIMEDTEXT = "youtube-timedtext";
+    public static final String SPOONACULAR = "spoonacular";
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Set<String> hedgedEndpoints;
+    private final double hedgePercentile;
+    private final int hedgeMinSamples;
+    private final long hedgeMinDelayMillis;
+
+    public OutboundResilience(
+            @Qualifier("externalCallExecutor") ExecutorService executor,
+            @Value("${app.outbound.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.outbound.breaker.open-seconds:30}") long openSeconds,
+            @Value("${app.outbound.hedge.endpoints:youtube-watch,youtube-timedtext}") String hedgedEndpoints,
+            @Value("${app.outbound.hedge.percentile:0.95}") double hedgePercentile,
+            @Value("${app.outbound.hedge.min-samples:20}") int hedgeMinSamples,
+            @Value("${app.outbound.hedge.min-delay-ms:200}") long hedgeMinDelayMillis) {
+        this.executor = executor;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = TimeUnit.SECONDS.toMillis(Math.max(1, openSeconds));
+        this.hedgedEndpoints = Arrays.stream(hedgedEndpoints.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeMinSamples = Math.max(1, hedgeMinSamples);
+        this.hedgeMinDelayMillis = hedgeMinDelayMillis;
+        for (String name : List.of(YOUTUBE_SEARCH, YOUTUBE_VIDEOS, YOUTUBE_WATCH, YOUTUBE_TIMEDTEXT, SPOONACULAR)) {
+            breaker(name);
+        }
+    }
+
+    private CircuitBreaker breaker(String endpoint) {
+        return breakers.computeIfAbsent(endpoint, name -> new CircuitBreaker(name, failureThreshold, openMillis));
+    }
+
+    /** 할당량 예약 등 부수 효과 전에 확인용: 차단 중이면 true */
+    public boolean isOpen(String endpoint) {
+        return breaker(endpoint).rejectIfOpen();
+    }
+
+    /** 차단기를 거쳐 호출. 차단 중이면 호출하지 않고 {@link CallNotPermittedException} */
+    public <T> T call(String endpoint, Supplier<T> call) {
+        CircuitBreaker breaker = breaker(endpoint);
+        acquire(breaker);
+        return attempt(breaker, call);
+    }
+
+    /**
+     * 멱등 GET용. 설정된 엔드포인트이고 지연 표본이 충분하면, 첫 요청이 백분위 지연을 넘길 때 두 번째 요청을 보냄.
+     * 늦게 끝난 쪽의 응답은 버림 (진행 중인 연결은 읽기 타임아웃까지 풀 스레드에서 마저 끝남).
+     */
+    public <T> T callHedged(String endpoint, Supplier<T> call) {
+        CircuitBreaker breaker = breaker(endpoint);
+        long delay = hedgeDelayMillis(breaker);
+        acquire(breaker);
+        if (delay < 0) return attempt(breaker, call);
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(1);
+        if (!launch(breaker, call, result, pending, false)) return attempt(breaker, call);
+        try {
+            return result.get(delay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException slow) {
+            pending.incrementAndGet();
+            if (launch(breaker, call, result, pending, true)) {
+                breaker.recordHedge(false);
+                log.debug("{} 응답 지연 {}ms 초과 → 헤지 요청", endpoint, delay);
+            } else {
+                pending.decrementAndGet();
+            }
+            return await(result);
+        } catch (InterruptedException | ExecutionException e) {
+            return unwrap(e);
+        }
+    }
+
+    private long hedgeDelayMillis(CircuitBreaker breaker) {
+        if (!hedgedEndpoints.contains(breaker.getName()) || breaker.getState() != CircuitBreaker.State.CLOSED) return -1;
+        long p = breaker.latencyPercentile(hedgePercentile, hedgeMinSamples);
+        return p < 0 ? -1 : Math.max(hedgeMinDelayMillis, p);
+    }
+
+    private <T> boolean launch(CircuitBreaker breaker, Supplier<T> call, CompletableFuture<T> result,
+                               AtomicInteger pending, boolean hedge) {
+        try {
+            executor.execute(() -> {
+                try {
+                    T value = attempt(breaker, call);
+                    if (result.complete(value) && hedge) breaker.recordHedge(true);
+                } catch (RuntimeException | Error e) {
+                    if (pending.decrementAndGet() == 0) result.completeExceptionally(e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException full) {
+            return false;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException | ExecutionException e) {
+            return unwrap(e);
+        }
+    }
+
+    private static <T> T unwrap(Exception e) {
+        if (e instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("외부 호출 대기 중 인터럽트");
+        }
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException re) throw re;
+        if (cause instanceof Error err) throw err;
+        throw new IllegalStateException(cause);
+    }
+
+    private static void acquire(CircuitBreaker breaker) {
+        if (!breaker.tryAcquire()) {
+            throw new CallNotPermittedException(breaker.getName(), breaker.getOpenUntil(), breaker.getOpenReason());
+        }
+    }
+
+    private <T> T attempt(CircuitBreaker breaker, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T value = call.get();
+            breaker.onSuccess(elapsedMillis(start));
+            return value;
+        } catch (RuntimeException | Error e) {
+            record(breaker, e, elapsedMillis(start));
+            throw e;
+        }
+    }
+
+    /** 실패 분류: 할당량 → 다음 날까지 차단 / 네트워크·5xx·429 → 실패 누적 / 그 외 4xx → 서버는 정상 응답 */
+    private void record(CircuitBreaker breaker, Throwable e, long elapsedMillis) {
+        if (isQuotaError(e)) {
+            Instant until = nextDayStart();
+            if (breaker.getState() != CircuitBreaker.State.OPEN) {
+                log.warn("{} 할당량 초과 응답 → {}까지 호출 차단", breaker.getName(), until);
+            }
+            breaker.openUntil(until, "할당량 초과");
+        } else if (e instanceof ResourceAccessException || e instanceof HttpServerErrorException
+                || (e instanceof HttpStatusCodeException ex && ex.getStatusCode().value() == 429)) {
+            CircuitBreaker.State before = breaker.getState();
+            breaker.onFailure(e.getClass().getSimpleName());
+            if (before != CircuitBreaker.State.OPEN && breaker.getState() == CircuitBreaker.State.OPEN) {
+                log.warn("{} 연속 실패로 {}초간 호출 차단: {}", breaker.getName(), openMillis / 1000, e.getMessage());
+            }
+        } else {
+            breaker.onSuccess(elapsedMillis);
+        }
+    }
+
+    static boolean isQuotaError(Throwable e) {
+        if (!(e instanceof HttpStatusCodeException ex)) return false;
+        int status = ex.getStatusCode().value();
+        if (status == 402) return true;
+        if (status != 403) return false;
+        GoogleErrorResponse error = GoogleErrorResponse.from(ex);
+        return error != null && error.isQuotaExceeded();
+    }
+
+    private static Instant nextDayStart() {
+        return ZonedDateTime.now(ZONE).toLocalDate().plusDays(1).atStartOfDay(ZONE).toInstant();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /** 차단기 상태 스냅샷 (/api/outbound-stats) */
+    public List<BreakerStats> snapshot() {
+        List<BreakerStats> out = new ArrayList<>();
+        breakers.values().stream()
+                .sorted((a, b) -> a.getName().compareTo(b.getName()))
+                .forEach(b -> out.add(new BreakerStats(
+                        b.getName(), b.getState(), b.getOpenUntil(), b.getOpenReason(),
+                        b.getSuccesses(), b.getFailures(), b.getShortCircuited(),
+                        b.getHedged(), b.getHedgeWins(), b.latencyPercentile(hedgePercentile, 1))));
+        return out;
+    }
+
+    public record BreakerStats(String name, CircuitBreaker.State state, Instant openUntil, String openReason,
+                               long successes, long failures, long shortCircuited,
+                               long hedged, long hedgeWins, long latencyPercentileMillis) {
+    }
+}
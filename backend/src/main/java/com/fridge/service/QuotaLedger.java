@@ -0,0 +1,26 @@
+package com.fridge.service;
+
+/**
+ * 외부 API 일일 사용량 장부. 버킷(예: "youtube", "spoonacular")·날짜(epochDay)별 사용량을 원자적으로 더하고 뺌.
+ * 구현: 메모리(기본, 재시작 시 초기화), 파일(memory-mapped, 같은 머신의 여러 프로세스가 공유),
+ * JDBC(조건부 UPDATE, 여러 인스턴스가 한 DB의 예산을 공유). 선택은 app.quota.ledger.type.
+ */
+public interface QuotaLedger extends AutoCloseable {
+
+    /**
+     * used + cost ≤ ceiling일 때만 더하고 true. 넘으면 아무것도 바꾸지 않고 false.
+     * 버킷에 이미 더 뒤 날짜가 기록돼 있으면(자정 직전에 날짜를 계산한 호출이 늦게 도착) 역시 false
+     */
+    boolean tryConsume(String bucket, long epochDay, int cost, int ceiling);
+
+    /** 사용량에서 cost를 뺌 (0 미만으로는 안 내려감). 해당 날짜 기록이 없으면 무시 */
+    void refund(String bucket, long epochDay, int cost);
+
+    /** 해당 날짜 사용량. 기록이 없으면 0 */
+    int used(String bucket, long epochDay);
+
+    /** 파일 채널·커넥션 풀 등 자원 정리 */
+    @Override
+    default void close() {
+    }
+}
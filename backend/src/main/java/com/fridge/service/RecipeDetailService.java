@@ -1,63 +1,110 @@
 package com.fridge.service;
 
 import com.fridge.dto.RecipeDetailDto;
-import com.fridge.entity.Recipe;
-import com.fridge.entity.RecipeIngredient;
-import com.fridge.entity.RecipeStep;
-import com.fridge.repository.RecipeIngredientRepository;
+import com.fridge.repository.RecipeDetailRow;
 import com.fridge.repository.RecipeRepository;
-import com.fridge.repository.RecipeStepRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * 레시피 상세. 레시피·재료·순서는 쿼리 1번으로 읽어 조립한 뒤 크기 제한 캐시에 보관 (카탈로그가 바뀌면 비움).
+ * 영상은 요청마다 recipe_videos에서 붙임 (미리 채우기로 나중에 생길 수 있으므로 캐시에 넣지 않음).
+ * 가상 카탈로그 레시피는 id에서 바로 계산 (DB·캐시 안 씀).
+ */
 @Service
-@RequiredArgsConstructor
 public class RecipeDetailService {
 
     private final RecipeRepository recipeRepository;
-    private final RecipeIngredientRepository recipeIngredientRepository;
-    private final RecipeStepRepository recipeStepRepository;
     private final YouTubeService youTubeService;
     private final SpoonacularService spoonacularService;
+    private final RecipeVideoService recipeVideoService;
+    private final SyntheticRecipeCatalog syntheticRecipeCatalog;
+    /** 영상 정보 없는 상세 (id → dto) */
+    private final BoundedCache<Long, RecipeDetailDto> detailCache;
 
-    @Transactional(readOnly = true)
+    public RecipeDetailService(RecipeRepository recipeRepository, @Lazy YouTubeService youTubeService,
+                               @Lazy SpoonacularService spoonacularService, RecipeVideoService recipeVideoService,
+                               SyntheticRecipeCatalog syntheticRecipeCatalog,
+                               @Value("${app.recipe.detail-cache.max-entries:2000}") int maxEntries) {
+        this.recipeRepository = recipeRepository;
+        this.youTubeService = youTubeService;
+        this.spoonacularService = spoonacularService;
+        this.recipeVideoService = recipeVideoService;
+        this.syntheticRecipeCatalog = syntheticRecipeCatalog;
+        this.detailCache = new BoundedCache<>(maxEntries, 0);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        detailCache.clear();
+    }
+
+    /** 트랜잭션 없음: 조회는 쿼리 1번으로 끝나고, 영상 검색 동안 DB 연결을 잡지 않음 */
     public RecipeDetailDto getDetail(Long recipeId) {
         if (recipeId == null) return null;
         if (recipeId < 0) {
             return spoonacularService.getRecipeDetail(-recipeId.longValue(), youTubeService);
         }
-        Recipe r = recipeRepository.findById(recipeId).orElse(null);
-        if (r == null) return null;
+        RecipeDetailDto base = getDetailWithoutVideo(recipeId);
+        if (base == null) return null;
 
-        List<String> ingredientsWithAmount = recipeIngredientRepository.findAllByRecipeId(r.getId()).stream()
-                .map(RecipeDetailService::formatIngredient)
-                .collect(Collectors.toList());
-        List<String> steps = recipeStepRepository.findAllByRecipeIdOrderByStepOrderAsc(r.getId()).stream()
-                .map(RecipeStep::getStepText)
-                .collect(Collectors.toList());
-
-        var video = youTubeService.searchTopVideoLastYear(r.getName());
+        var video = recipeVideoService.videoFor(recipeId, base.getName());
 
         return RecipeDetailDto.builder()
-                .id(r.getId())
-                .name(r.getName())
-                .description(r.getDescription())
-                .mainCategory(r.getMainCategory())
-                .subCategory(r.getSubCategory())
-                .ingredientsWithAmount(ingredientsWithAmount)
-                .steps(steps)
+                .id(base.getId())
+                .name(base.getName())
+                .description(base.getDescription())
+                .mainCategory(base.getMainCategory())
+                .subCategory(base.getSubCategory())
+                .ingredientsWithAmount(base.getIngredientsWithAmount())
+                .steps(base.getSteps())
                 .youtubeVideoId(video != null ? video.getVideoId() : null)
                 .youtubeTitle(video != null ? video.getTitle() : null)
                 .build();
     }
 
-    private static String formatIngredient(RecipeIngredient ri) {
-        String name = ri.getIngredient().getName();
-        if (ri.getAmount() != null && !ri.getAmount().isBlank()) return name + " " + ri.getAmount();
+    /** 영상 없이 레시피·재료·순서만 (내부 레시피만, 외부 API·조회 수 집계 없음). 기동 예열에서도 사용 */
+    public RecipeDetailDto getDetailWithoutVideo(Long recipeId) {
+        if (recipeId == null || recipeId < 0) return null;
+        if (SyntheticRecipeCatalog.isVirtualId(recipeId)) return syntheticRecipeCatalog.detail(recipeId);
+        RecipeDetailDto base = detailCache.get(recipeId);
+        if (base == null) {
+            long generation = detailCache.generation();
+            base = loadDetail(recipeId);
+            if (base == null) return null;
+            detailCache.put(recipeId, base, generation);
+        }
+        return base;
+    }
+
+    private RecipeDetailDto loadDetail(Long recipeId) {
+        List<RecipeDetailRow> rows = recipeRepository.findDetailRows(recipeId);
+        if (rows.isEmpty() || rows.get(0).getKind() != 0) return null;
+        RecipeDetailRow recipe = rows.get(0);
+        List<String> ingredientsWithAmount = new ArrayList<>();
+        List<String> steps = new ArrayList<>();
+        for (RecipeDetailRow row : rows.subList(1, rows.size())) {
+            if (row.getKind() == 1) ingredientsWithAmount.add(formatIngredient(row.getName(), row.getDetail()));
+            else if (row.getKind() == 2) steps.add(row.getName());
+        }
+        return RecipeDetailDto.builder()
+                .id(recipeId)
+                .name(recipe.getName())
+                .description(recipe.getDetail())
+                .mainCategory(recipe.getCategory())
+                .subCategory(recipe.getSubCategory())
+                .ingredientsWithAmount(List.copyOf(ingredientsWithAmount))
+                .steps(List.copyOf(steps))
+                .build();
+    }
+
+    private static String formatIngredient(String name, String amount) {
+        if (amount != null && !amount.isBlank()) return name + " " + amount;
         return name;
     }
 }
@@ -0,0 +1,248 @@
+package com.fridge.service;
+
+import com.fridge.repository.RecipeIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * recipe_ingredients 전체를 한 번 읽어 만든 불변 인메모리 인덱스.
+ * 레시피마다 재료 집합을 비트마스크(long[])로 들고 있어, 추천 시 DB 조회 없이
+ * "선택 재료만으로 만들 수 있는 레시피"(부분집합)와 "선택 재료를 하나라도 쓰는 레시피"를 찾는다.
+ * 카탈로그가 바뀌면 새 스냅샷을 만들어 참조만 교체 (조회 중인 요청은 이전 스냅샷을 그대로 사용).
+ * 가상 카탈로그(SyntheticRecipeCatalog)가 켜져 있으면 그 레시피들의 마스크도 DB 레시피 뒤에 이어 붙임 (레시피당 id·마스크 16바이트).
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeIngredientIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeIngredientIndex.class);
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final SyntheticRecipeCatalog syntheticRecipeCatalog;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        rebuild();
+        log.info("재료 인덱스 재구성 ({}): 레시피 {}개, 재료 {}개", event.source(), snapshot.size(), snapshot.bitByIngredient.size());
+    }
+
+    /** DB에서 다시 읽어 인덱스 교체 */
+    public synchronized void rebuild() {
+        snapshot = Snapshot.build(recipeIngredientRepository.findAllRecipeIngredientPairs(), syntheticRecipeCatalog);
+    }
+
+    /** 선택 재료만으로 만들 수 있는 레시피 중 최대 limit개를 무작위로 뽑음 (재료가 하나도 없는 레시피 제외) */
+    public List<Long> sampleCookable(Collection<Long> ingredientIds, int limit) {
+        Snapshot s = current();
+        long[] query = s.mask(ingredientIds);
+        int words = s.words;
+        Reservoir reservoir = new Reservoir(limit);
+        outer:
+        for (int r = 0; r < s.recipeIds.length; r++) {
+            int base = r * words;
+            for (int w = 0; w < words; w++) {
+                if ((s.masks[base + w] & ~query[w]) != 0) continue outer;
+            }
+            reservoir.offer(s.recipeIds[r]);
+        }
+        return reservoir.toList();
+    }
+
+    /** 선택 재료 중 하나라도 쓰는 레시피 중 최대 limit개를 무작위로 뽑음 */
+    public List<Long> sampleUsingAny(Collection<Long> ingredientIds, int limit) {
+        Snapshot s = current();
+        long[] query = s.mask(ingredientIds);
+        int words = s.words;
+        Reservoir reservoir = new Reservoir(limit);
+        for (int r = 0; r < s.recipeIds.length; r++) {
+            int base = r * words;
+            for (int w = 0; w < words; w++) {
+                if ((s.masks[base + w] & query[w]) != 0) {
+                    reservoir.offer(s.recipeIds[r]);
+                    break;
+                }
+            }
+        }
+        return reservoir.toList();
+    }
+
+    /**
+     * 부족한 재료가 maxMissing개 이하인 레시피를 일치도 순으로 최대 limit개.
+     * 순위: 부족 재료 수 적은 순 → 일치 재료 수 많은 순(부족 수가 같으면 커버리지 높은 순과 같음) → 동점은 요청마다 무작위.
+     * 크기 limit의 힙만 유지하므로 후보 수와 관계없이 메모리는 O(limit).
+     */
+    public List<Match> rankByMissing(Collection<Long> ingredientIds, int maxMissing, int limit) {
+        if (limit <= 0) return List.of();
+        Snapshot s = current();
+        long[] query = s.mask(ingredientIds);
+        int words = s.words;
+        int salt = ThreadLocalRandom.current().nextInt();
+        PriorityQueue<Match> heap = new PriorityQueue<>(limit + 1, Match.BEST_FIRST.reversed());
+        for (int r = 0; r < s.recipeIds.length; r++) {
+            int base = r * words;
+            int matched = 0;
+            int missing = 0;
+            for (int w = 0; w < words; w++) {
+                long m = s.masks[base + w];
+                matched += Long.bitCount(m & query[w]);
+                missing += Long.bitCount(m & ~query[w]);
+            }
+            if (matched == 0 || missing > maxMissing) continue;
+            Match candidate = new Match(s.recipeIds[r], matched, missing, Long.hashCode(s.recipeIds[r] * 0x9E3779B97F4A7C15L) ^ salt);
+            if (heap.size() < limit) {
+                heap.add(candidate);
+            } else if (Match.BEST_FIRST.compare(candidate, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        }
+        List<Match> result = new ArrayList<>(heap);
+        result.sort(Match.BEST_FIRST);
+        return result;
+    }
+
+    /** rankByMissing 결과 한 건 */
+    public record Match(long recipeId, int matched, int missing, int tieBreaker) {
+
+        static final Comparator<Match> BEST_FIRST = Comparator
+                .comparingInt(Match::missing)
+                .thenComparing(Comparator.comparingInt(Match::matched).reversed())
+                .thenComparingInt(Match::tieBreaker);
+
+        /** 레시피 재료 중 가진 재료 비율 (0~1) */
+        public double coverage() {
+            int total = matched + missing;
+            return total == 0 ? 0 : (double) matched / total;
+        }
+    }
+
+    /** 크기 limit의 저수지 표본 (후보 전체를 모으지 않고 균등 무작위 추출) */
+    private static final class Reservoir {
+        private final long[] items;
+        private int seen;
+
+        Reservoir(int limit) {
+            this.items = new long[Math.max(0, limit)];
+        }
+
+        void offer(long id) {
+            if (items.length == 0) return;
+            if (seen < items.length) {
+                items[seen++] = id;
+                return;
+            }
+            int j = ThreadLocalRandom.current().nextInt(++seen);
+            if (j < items.length) items[j] = id;
+        }
+
+        List<Long> toList() {
+            int n = Math.min(seen, items.length);
+            List<Long> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) list.add(items[i]);
+            Collections.shuffle(list);
+            return list;
+        }
+    }
+
+    /** 재료가 쓰이는 레시피 수 (자동완성 정렬용). 인덱스에 없으면 0 */
+    public int recipeCount(Long ingredientId) {
+        Snapshot s = current();
+        Integer bit = ingredientId != null ? s.bitByIngredient.get(ingredientId) : null;
+        return bit != null ? s.recipeCountByBit[bit] : 0;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snapshot == null) rebuild();
+            return snapshot;
+        }
+    }
+
+    /** 재료 id → 비트 위치, 레시피별 마스크를 words 개 long으로 이어 붙인 배열 */
+    private static final class Snapshot {
+        private final Map<Long, Integer> bitByIngredient;
+        private final int words;
+        private final long[] recipeIds;
+        private final long[] masks;
+        private final int[] recipeCountByBit;
+
+        private Snapshot(Map<Long, Integer> bitByIngredient, int words, long[] recipeIds, long[] masks, int[] recipeCountByBit) {
+            this.bitByIngredient = bitByIngredient;
+            this.words = words;
+            this.recipeIds = recipeIds;
+            this.masks = masks;
+            this.recipeCountByBit = recipeCountByBit;
+        }
+
+        /** rows: [recipeId, ingredientId]. 가상 레시피는 id가 DB id보다 크므로 뒤에 붙여도 id 순 유지 */
+        static Snapshot build(List<Object[]> rows, SyntheticRecipeCatalog synthetic) {
+            TreeSet<Long> ingredientIds = new TreeSet<>();
+            TreeMap<Long, List<Long>> byRecipe = new TreeMap<>();
+            for (Object[] row : rows) {
+                Long recipeId = ((Number) row[0]).longValue();
+                Long ingredientId = ((Number) row[1]).longValue();
+                ingredientIds.add(ingredientId);
+                byRecipe.computeIfAbsent(recipeId, k -> new ArrayList<>(4)).add(ingredientId);
+            }
+            int combos = synthetic.comboCount();
+            long[][] comboIngredients = new long[combos][];
+            for (int c = 0; c < combos; c++) {
+                comboIngredients[c] = synthetic.comboIngredientIds(c);
+                for (long id : comboIngredients[c]) ingredientIds.add(id);
+            }
+            Map<Long, Integer> bits = new HashMap<>();
+            for (Long id : ingredientIds) bits.put(id, bits.size());
+            int words = Math.max(1, (bits.size() + 63) >>> 6);
+
+            int size = byRecipe.size() + combos * SyntheticRecipeCatalog.RECIPES_PER_COMBO;
+            long[] recipeIds = new long[size];
+            long[] masks = new long[size * words];
+            int[] recipeCountByBit = new int[bits.size()];
+            int r = 0;
+            for (Map.Entry<Long, List<Long>> e : byRecipe.entrySet()) {
+                recipeIds[r] = e.getKey();
+                for (Long ingredientId : e.getValue()) setBit(masks, r * words, bits.get(ingredientId), recipeCountByBit);
+                r++;
+            }
+            for (int c = 0; c < combos; c++) {
+                for (int k = 0; k < SyntheticRecipeCatalog.RECIPES_PER_COMBO; k++) {
+                    recipeIds[r] = SyntheticRecipeCatalog.recipeId(c, k);
+                    for (long ingredientId : comboIngredients[c]) setBit(masks, r * words, bits.get(ingredientId), recipeCountByBit);
+                    r++;
+                }
+            }
+            return new Snapshot(Map.copyOf(bits), words, recipeIds, masks, recipeCountByBit);
+        }
+
+        private static void setBit(long[] masks, int base, int bit, int[] recipeCountByBit) {
+            long before = masks[base + (bit >>> 6)];
+            masks[base + (bit >>> 6)] = before | (1L << bit);
+            if ((before & (1L << bit)) == 0) recipeCountByBit[bit]++;
+        }
+
+        /** 인덱스에 없는 재료 id는 어떤 레시피에도 쓰이지 않으므로 무시 */
+        long[] mask(Collection<Long> ingredientIds) {
+            long[] m = new long[words];
+            if (ingredientIds == null) return m;
+            for (Long id : ingredientIds) {
+                Integer bit = id != null ? bitByIngredient.get(id) : null;
+                if (bit != null) m[bit >>> 6] |= 1L << bit;
+            }
+            return m;
+        }
+
+        int size() {
+            return recipeIds.length;
+        }
+    }
+}
@@ -3,61 +3,80 @@ package com.fridge.service;
 import com.fridge.dto.RecipeDto;
 import com.fridge.dto.RecommendResponse;
 import com.fridge.dto.YoutubeRecommendationDto;
-import com.fridge.entity.Ingredient;
 import com.fridge.entity.Recipe;
 import com.fridge.entity.RecipeIngredient;
-import com.fridge.repository.IngredientRepository;
 import com.fridge.repository.RecipeIngredientRepository;
 import com.fridge.repository.RecipeRepository;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.groupingBy;
 
-/** 검색 모드: strictOnly=true면 선택 재료만, false면 선택 재료 포함 다양하게 검색. */
+/**
+ * 검색 모드: strictOnly=true면 선택 재료만, false면 선택 재료 포함 다양하게 검색.
+ * maxMissing을 주면 부족 재료 maxMissing개 이하 레시피를 일치도 순으로 추천.
+ * 유튜브 검색은 externalCallExecutor에서 DB 레시피 조회와 동시에 실행하고, 요청 마감(app.recommend.deadline-ms)까지
+ * 답이 없으면 레시피만 먼저 응답 (youtubeErrorReason에 사유).
+ */
 @Service
-@RequiredArgsConstructor
 public class RecipeRecommendService {
 
     private static final Logger log = LoggerFactory.getLogger(RecipeRecommendService.class);
     private static final int MAX_RECIPE_RECOMMENDATIONS = 10;
 
-    private final IngredientRepository ingredientRepository;
+    private final IngredientDictionary ingredientDictionary;
     private final RecipeRepository recipeRepository;
     private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final SyntheticRecipeCatalog syntheticRecipeCatalog;
     private final YouTubeService youTubeService;
+    private final ExecutorService externalCallExecutor;
 
-    @Transactional(readOnly = true)
-    public RecommendResponse recommendByIngredients(List<Long> ingredientIds, List<String> ingredientNames, Boolean strictOnly) {
+    @Value("${app.recommend.deadline-ms:10000}")
+    private long deadlineMs;
+
+    public RecipeRecommendService(IngredientDictionary ingredientDictionary,
+                                  RecipeRepository recipeRepository,
+                                  RecipeIngredientRepository recipeIngredientRepository,
+                                  RecipeIngredientIndex recipeIngredientIndex,
+                                  SyntheticRecipeCatalog syntheticRecipeCatalog,
+                                  @Lazy YouTubeService youTubeService,
+                                  @Qualifier("externalCallExecutor") ExecutorService externalCallExecutor) {
+        this.ingredientDictionary = ingredientDictionary;
+        this.recipeRepository = recipeRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.syntheticRecipeCatalog = syntheticRecipeCatalog;
+        this.youTubeService = youTubeService;
+        this.externalCallExecutor = externalCallExecutor;
+    }
+
+    public RecommendResponse recommendByIngredients(List<Long> ingredientIds, List<String> ingredientNames,
+                                                    Boolean strictOnly, Integer maxMissing) {
         boolean strict = Boolean.TRUE.equals(strictOnly);
-        Set<Long> allIds = new HashSet<>();
-        if (ingredientIds != null) allIds.addAll(ingredientIds);
-        if (ingredientNames != null) {
-            for (String name : ingredientNames) {
-                String trimmed = name != null ? name.trim() : "";
-                if (trimmed.isEmpty()) continue;
-                ingredientRepository.findByNameIgnoreCase(trimmed)
-                        .map(Ingredient::getId)
-                        .ifPresent(allIds::add);
-            }
-        }
-        List<String> namesForApi = new ArrayList<>();
-        for (Long id : allIds) {
-            ingredientRepository.findById(id).map(Ingredient::getName).ifPresent(namesForApi::add);
-        }
-        if (ingredientNames != null) {
-            for (String n : ingredientNames) {
-                if (n != null && !n.isBlank() && !namesForApi.contains(n.trim())) namesForApi.add(n.trim());
-            }
-        }
+        IngredientDictionary.Resolution resolved = ingredientDictionary.resolve(ingredientIds, ingredientNames);
+        Set<Long> allIds = resolved.ids();
+        List<String> namesForApi = resolved.names();
 
-        var youtubeResult = youTubeService.searchByIngredients(namesForApi, strict);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        CompletableFuture<YouTubeService.YouTubeSearchResult> youtubeFuture = submitYoutubeSearch(namesForApi, strict);
+
+        List<RecipeDto> recipeRecommendations = recommendRecipes(allIds, strict, maxMissing);
+
+        YouTubeService.YouTubeSearchResult youtubeResult = awaitYoutube(youtubeFuture, deadline);
         List<YoutubeRecommendationDto> youtubeRecommendations = youtubeResult.getVideos().stream()
                 .map(v -> YoutubeRecommendationDto.builder().videoId(v.getVideoId()).title(v.getTitle()).build())
                 .collect(Collectors.toList());
@@ -66,25 +85,6 @@ public class RecipeRecommendService {
             log.warn("유튜브 추천 결과 없음. 재료={}, strict={}. 사유: {}", namesForApi, strict, youtubeErrorReason);
         }
 
-        List<RecipeDto> recipeRecommendations = List.of();
-        if (!allIds.isEmpty()) {
-            List<Recipe> recipes = strict
-                    ? recipeRepository.findRecipesByAvailableIngredients(new ArrayList<>(allIds))
-                    : recipeRepository.findRecipesUsingAnyIngredient(new ArrayList<>(allIds));
-            if (!recipes.isEmpty()) {
-                List<Long> recipeIds = recipes.stream().map(Recipe::getId).toList();
-                Map<Long, List<RecipeIngredient>> ingredientsByRecipe = recipeIngredientRepository
-                        .findAllByRecipeIdIn(recipeIds)
-                        .stream()
-                        .collect(groupingBy(ri -> ri.getRecipe().getId()));
-                recipeRecommendations = recipes.stream()
-                        .map(r -> toRecipeDto(r, ingredientsByRecipe.getOrDefault(r.getId(), List.of())))
-                        .collect(Collectors.toList());
-                Collections.shuffle(recipeRecommendations);
-                recipeRecommendations = recipeRecommendations.stream().limit(MAX_RECIPE_RECOMMENDATIONS).collect(Collectors.toList());
-            }
-        }
-
         return RecommendResponse.builder()
                 .youtubeRecommendations(youtubeRecommendations)
                 .youtubeErrorReason(youtubeErrorReason)
@@ -92,10 +92,88 @@ public class RecipeRecommendService {
                 .build();
     }
 
+    /** 레시피 추천만 (유튜브 검색 없음). 기동 예열에서도 사용 */
+    public List<RecipeDto> recommendRecipes(Set<Long> ingredientIds, boolean strict, Integer maxMissing) {
+        if (ingredientIds.isEmpty()) return List.of();
+        if (maxMissing != null) return rankedRecipes(ingredientIds, Math.max(0, maxMissing));
+        // 무작위 추천: 후보 전체를 모으지 않고 필요한 개수만 표본 추출한 뒤 그 레시피만 로딩
+        List<Long> recipeIds = strict
+                ? recipeIngredientIndex.sampleCookable(ingredientIds, MAX_RECIPE_RECOMMENDATIONS)
+                : recipeIngredientIndex.sampleUsingAny(ingredientIds, MAX_RECIPE_RECOMMENDATIONS);
+        List<RecipeDto> recipes = loadRecipeDtos(recipeIds);
+        Collections.shuffle(recipes);
+        return recipes;
+    }
+
+    private CompletableFuture<YouTubeService.YouTubeSearchResult> submitYoutubeSearch(List<String> names, boolean strict) {
+        try {
+            return CompletableFuture.supplyAsync(() -> youTubeService.searchByIngredients(names, strict), externalCallExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(new YouTubeService.YouTubeSearchResult(List.of(),
+                    "요청이 많아 유튜브 검색을 건너뛰었습니다. 잠시 후 다시 시도하세요."));
+        }
+    }
+
+    /** 마감까지 남은 시간만 기다림. 늦으면 호출은 뒤에서 계속 진행되고 이번 응답에는 빠짐 */
+    private YouTubeService.YouTubeSearchResult awaitYoutube(CompletableFuture<YouTubeService.YouTubeSearchResult> future, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        try {
+            return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return new YouTubeService.YouTubeSearchResult(List.of(),
+                    "유튜브 응답이 " + (deadlineMs / 1000) + "초 안에 오지 않아 레시피만 먼저 보여줍니다. 잠시 후 다시 시도하세요.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new YouTubeService.YouTubeSearchResult(List.of(), "유튜브 검색이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new YouTubeService.YouTubeSearchResult(List.of(), "YouTube 검색 실패: " + cause.getMessage());
+        }
+    }
+
+    private List<RecipeDto> rankedRecipes(Set<Long> ingredientIds, int maxMissing) {
+        List<RecipeIngredientIndex.Match> matches =
+                recipeIngredientIndex.rankByMissing(ingredientIds, maxMissing, MAX_RECIPE_RECOMMENDATIONS);
+        Map<Long, RecipeDto> byId = loadRecipeDtos(matches.stream().map(RecipeIngredientIndex.Match::recipeId).toList())
+                .stream()
+                .collect(Collectors.toMap(RecipeDto::getId, d -> d));
+        List<RecipeDto> ranked = new ArrayList<>(matches.size());
+        for (RecipeIngredientIndex.Match m : matches) {
+            RecipeDto dto = byId.get(m.recipeId());
+            if (dto == null) continue;
+            dto.setMatchedCount(m.matched());
+            dto.setMissingCount(m.missing());
+            dto.setCoverage(m.coverage());
+            ranked.add(dto);
+        }
+        return ranked;
+    }
+
+    /** 가상 레시피는 id에서 바로 만들고, 나머지만 DB에서 읽음 */
+    private List<RecipeDto> loadRecipeDtos(List<Long> recipeIds) {
+        if (recipeIds.isEmpty()) return new ArrayList<>();
+        List<RecipeDto> dtos = new ArrayList<>(recipeIds.size());
+        List<Long> storedIds = new ArrayList<>(recipeIds.size());
+        for (Long id : recipeIds) {
+            RecipeDto synthetic = SyntheticRecipeCatalog.isVirtualId(id) ? syntheticRecipeCatalog.recipeDto(id) : null;
+            if (synthetic != null) dtos.add(synthetic);
+            else storedIds.add(id);
+        }
+        if (storedIds.isEmpty()) return dtos;
+        List<Recipe> recipes = recipeRepository.findAllById(storedIds);
+        Map<Long, List<RecipeIngredient>> ingredientsByRecipe = recipeIngredientRepository
+                .findAllByRecipeIdIn(storedIds)
+                .stream()
+                .collect(groupingBy(ri -> ri.getRecipe().getId()));
+        for (Recipe r : recipes) dtos.add(toRecipeDto(r, ingredientsByRecipe.getOrDefault(r.getId(), List.of())));
+        return dtos;
+    }
+
     private RecipeDto toRecipeDto(Recipe r, List<RecipeIngredient> recipeIngredients) {
+        // 재료 프록시를 초기화하지 않고 id로 사전에서 이름을 찾음
         List<String> ingredientNames = recipeIngredients.stream()
-                .map(RecipeIngredient::getIngredient)
-                .map(Ingredient::getName)
+                .map(ri -> ingredientDictionary.nameOf(ri.getIngredient().getId()))
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
         return RecipeDto.builder()
                 .id(r.getId())
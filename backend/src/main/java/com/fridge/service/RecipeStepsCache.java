@@ -0,0 +1,272 @@
+package com.fridge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 영상별 레시피 순서 추출 결과 디스크 캐시. watch 페이지(1MB+)·자막·영상 설명을 같은 영상에 대해 다시 받지 않음.
+ * - 키 기준 주소: 파일 이름 = SHA-256(videoId) (내용 해시가 아님), gzip 압축 JSON. 디렉터리 아래 앞 2글자로 나눠 저장
+ * - 자막·설명 모두 없어 순서가 비었으면(negative) 짧은 TTL로만 저장
+ * - 자막 baseUrl(중간 결과)도 따로 저장: 자막 본문만 실패했을 때 다음 요청은 watch 페이지 생략.
+ *   서명 URL이라 expire 파라미터(없으면 caption-url-ttl)까지만 사용
+ * - 전체 파일 크기 합이 max-bytes를 넘으면 오래 안 쓴 파일부터 삭제 (LRU, 접근 시 수정 시각 갱신)
+ */
+@Component
+public class RecipeStepsCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeStepsCache.class);
+    private static final String SUFFIX = ".json.gz";
+    private static final Pattern EXPIRE_PARAM = Pattern.compile("[?&]expire=(\\d+)");
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /** 비우면 캐시 안 함 */
+    @Value("${app.youtube.steps-cache.dir:}")
+    private String dir;
+
+    @Value("${app.youtube.steps-cache.max-bytes:52428800}")
+    private long maxBytes;
+
+    @Value("${app.youtube.steps-cache.ttl-days:30}")
+    private long ttlDays;
+
+    @Value("${app.youtube.steps-cache.negative-ttl-hours:12}")
+    private long negativeTtlHours;
+
+    @Value("${app.youtube.steps-cache.caption-url-ttl-minutes:360}")
+    private long captionUrlTtlMinutes;
+
+    /** 파일 → 크기. 접근 순서 LinkedHashMap = LRU. 모든 접근은 this로 동기화 */
+    private final LinkedHashMap<Path, Long> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    public RecipeStepsCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void load() {
+        Path root = root();
+        if (root == null || !Files.isDirectory(root)) return;
+        record Found(Path path, long size, FileTime modified) {
+        }
+        List<Found> found = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).forEach(p -> {
+                try {
+                    found.add(new Found(p, Files.size(p), Files.getLastModifiedTime(p)));
+                } catch (IOException ignored) {
+                    // 동시에 지워진 파일
+                }
+            });
+        } catch (IOException e) {
+            log.warn("레시피 순서 캐시 디렉터리를 읽지 못했습니다 ({}): {}", root, e.getMessage());
+            return;
+        }
+        found.sort((a, b) -> a.modified().compareTo(b.modified()));
+        synchronized (this) {
+            for (Found f : found) {
+                index.put(f.path(), f.size());
+                totalBytes += f.size();
+            }
+            evict();
+        }
+        log.info("레시피 순서 캐시 로드: {}개, {} bytes ({})", index.size(), totalBytes, root);
+    }
+
+    /**
+     * 파일을 한 번만 읽어 완료된 결과(순서 목록, 비어 있으면 negative)와 아직 유효한 자막 baseUrl을 함께 반환.
+     * 완료된 결과가 없거나 만료됐으면 steps=null (miss)
+     */
+    public Lookup lookup(String videoId) {
+        Entry e = read(videoId);
+        if (e == null) {
+            misses.incrementAndGet();
+            return Lookup.MISS;
+        }
+        long now = System.currentTimeMillis();
+        String baseUrl = e.captionBaseUrl() != null && now < e.captionUrlExpiresAt() ? e.captionBaseUrl() : null;
+        if (!e.complete() || isExpired(e, now)) {
+            misses.incrementAndGet();
+            return new Lookup(null, baseUrl);
+        }
+        if (e.steps().isEmpty()) negativeHits.incrementAndGet();
+        else hits.incrementAndGet();
+        return new Lookup(e.steps(), baseUrl);
+    }
+
+    /** 최종 결과 저장. steps가 비었으면 negative 항목 */
+    public void putSteps(String videoId, List<String> steps, String captionBaseUrl) {
+        write(videoId, new Entry(videoId, List.copyOf(steps), true, captionBaseUrl,
+                captionUrlExpiresAt(captionBaseUrl), System.currentTimeMillis()));
+    }
+
+    /** 자막 본문 조회만 실패했을 때 baseUrl만 저장 (다음 요청은 watch 페이지 생략) */
+    public void putCaptionBaseUrl(String videoId, String captionBaseUrl) {
+        write(videoId, new Entry(videoId, List.of(), false, captionBaseUrl,
+                captionUrlExpiresAt(captionBaseUrl), System.currentTimeMillis()));
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private boolean isExpired(Entry e, long now) {
+        Duration ttl = e.steps().isEmpty() ? Duration.ofHours(negativeTtlHours) : Duration.ofDays(ttlDays);
+        return now - e.storedAt() > ttl.toMillis();
+    }
+
+    private long captionUrlExpiresAt(String captionBaseUrl) {
+        if (captionBaseUrl == null) return 0;
+        long fallback = System.currentTimeMillis() + Duration.ofMinutes(captionUrlTtlMinutes).toMillis();
+        Matcher m = EXPIRE_PARAM.matcher(captionBaseUrl);
+        if (!m.find()) return fallback;
+        try {
+            // 만료 직전 URL은 쓰지 않도록 1분 여유
+            return Math.min(fallback, Long.parseLong(m.group(1)) * 1000 - 60_000);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private Entry read(String videoId) {
+        Path path = path(videoId);
+        if (path == null) return null;
+        synchronized (this) {
+            if (index.get(path) == null) return null;
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            Entry e = objectMapper.readValue(in, Entry.class);
+            if (e == null || !videoId.equals(e.videoId())) return null;
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return e;
+        } catch (IOException e) {
+            log.debug("레시피 순서 캐시 읽기 실패 videoId={}: {}", videoId, e.getMessage());
+            remove(path);
+            return null;
+        }
+    }
+
+    /** 임시 파일에 쓴 뒤 교체 (쓰는 도중 멈춰도 이전 파일은 온전) */
+    private void write(String videoId, Entry entry) {
+        Path path = path(videoId);
+        if (path == null) return;
+        try {
+            Files.createDirectories(path.getParent());
+            Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                objectMapper.writeValue(out, entry);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long size = Files.size(path);
+            synchronized (this) {
+                Long previous = index.put(path, size);
+                totalBytes += size - (previous != null ? previous : 0);
+                evict();
+            }
+        } catch (IOException e) {
+            log.warn("레시피 순서 캐시 저장 실패 videoId={}: {}", videoId, e.getMessage());
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Long>> it = index.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Path, Long> oldest = it.next();
+            it.remove();
+            totalBytes -= oldest.getValue();
+            try {
+                Files.deleteIfExists(oldest.getKey());
+            } catch (IOException e) {
+                log.debug("레시피 순서 캐시 삭제 실패 ({}): {}", oldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void remove(Path path) {
+        Long size = index.remove(path);
+        if (size != null) totalBytes -= size;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 못 지워도 index에서는 빠졌으므로 다시 읽지 않음
+        }
+    }
+
+    private Path path(String videoId) {
+        Path root = root();
+        if (root == null || videoId == null || videoId.isEmpty()) return null;
+        String hash = sha256(videoId);
+        return root.resolve(hash.substring(0, 2)).resolve(hash + SUFFIX);
+    }
+
+    private Path root() {
+        return dir == null || dir.isBlank() ? null : Path.of(dir);
+    }
+
+    private static String sha256(String s) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** steps=null이면 miss. captionBaseUrl은 miss여도 유효하면 채움 (watch 페이지 생략용) */
+    public record Lookup(List<String> steps, String captionBaseUrl) {
+        static final Lookup MISS = new Lookup(null, null);
+
+        public boolean hit() {
+            return steps != null;
+        }
+    }
+
+    /** complete=false면 captionBaseUrl만 의미 있음 (순서 추출이 끝나지 않음) */
+    record Entry(String videoId, List<String> steps, boolean complete, String captionBaseUrl,
+                 long captionUrlExpiresAt, long storedAt) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.fridge.service;
+
+import com.fridge.entity.Recipe;
+import com.fridge.entity.RecipeVideo;
+import com.fridge.repository.RecipeRepository;
+import com.fridge.repository.RecipeVideoRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 레시피 대표 영상: recipe_videos 테이블에서 읽고, 없을 때만 실시간 검색(100 단위).
+ * 새벽(Asia/Seoul) 남는 할당량으로 상세 조회가 많은 레시피부터 미리 채우고, max-age보다 오래된 항목은 다시 검색.
+ * 미리 채우기는 PREFETCH 등급이라 할당량이 상한(prefetch-ceiling)에 닿으면 바로 멈춤.
+ * 앱 DB는 메모리라 영상·조회 수는 {@link RecipeVideoStore}(볼륨)에도 써 두고, 기동 때 recipe_videos로 되돌림
+ * (새벽에 채운 영상이 머신 자동 정지로 사라져 아침에 다시 검색하지 않도록).
+ */
+@Service
+public class RecipeVideoService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeVideoService.class);
+
+    private final RecipeVideoRepository recipeVideoRepository;
+    private final RecipeRepository recipeRepository;
+    private final YouTubeService youTubeService;
+    private final SyntheticRecipeCatalog syntheticRecipeCatalog;
+    private final RecipeVideoStore recipeVideoStore;
+    private final JdbcTemplate jdbcTemplate;
+    /** 저장소에 아직 안 더한 상세 조회 횟수. 레시피 max-pending개까지만 (넘으면 다음 반영까지 새 레시피는 세지 않음) */
+    private final AtomicReference<ConcurrentHashMap<Long, LongAdder>> pendingViews = new AtomicReference<>(new ConcurrentHashMap<>());
+
+    @Value("${app.youtube.prefetch.view-counts.max-pending:10000}")
+    private int maxPendingViews;
+
+    /** 저장소에 남길 조회 수 항목 수 (많이 본 순) */
+    @Value("${app.youtube.prefetch.view-counts.max-entries:50000}")
+    private int maxViewEntries;
+
+    @Value("${app.youtube.prefetch.enabled:true}")
+    private boolean prefetchEnabled;
+
+    @Value("${app.youtube.prefetch.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.youtube.prefetch.max-age-days:14}")
+    private long maxAgeDays;
+
+    public RecipeVideoService(RecipeVideoRepository recipeVideoRepository, RecipeRepository recipeRepository,
+                              @Lazy YouTubeService youTubeService, SyntheticRecipeCatalog syntheticRecipeCatalog,
+                              RecipeVideoStore recipeVideoStore, JdbcTemplate jdbcTemplate) {
+        this.recipeVideoRepository = recipeVideoRepository;
+        this.recipeRepository = recipeRepository;
+        this.youTubeService = youTubeService;
+        this.syntheticRecipeCatalog = syntheticRecipeCatalog;
+        this.recipeVideoStore = recipeVideoStore;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** 저장소의 영상을 recipe_videos로 되돌림. CatalogStartupRunner가 준비 완료 전에 호출 */
+    public int restore() {
+        List<RecipeVideo> videos;
+        try {
+            videos = recipeVideoStore.findAllVideos();
+        } catch (RuntimeException e) {
+            log.warn("레시피 영상 저장소 읽기 실패 (필요할 때 다시 검색): {}", e.getMessage());
+            return 0;
+        }
+        if (videos.isEmpty()) return 0;
+        List<Object[]> args = videos.stream()
+                .map(v -> new Object[]{v.getRecipeId(), v.getVideoId(), v.getTitle(), Timestamp.from(v.getFetchedAt())})
+                .toList();
+        jdbcTemplate.batchUpdate("MERGE INTO recipe_videos (recipe_id, video_id, title, fetched_at) KEY (recipe_id) VALUES (?, ?, ?, ?)", args);
+        log.info("레시피 영상 복원: {}개", videos.size());
+        return videos.size();
+    }
+
+    /**
+     * 상세 화면용. 저장된 영상이 있으면(오래됐어도) 그대로, 없으면 실시간 검색 후 저장.
+     * 트랜잭션 밖에서 호출할 것 (검색 동안 DB 연결을 잡지 않도록, 저장은 repository 트랜잭션으로 바로 반영)
+     */
+    public YouTubeService.YouTubeVideoResult videoFor(Long recipeId, String recipeName) {
+        countView(recipeId);
+        RecipeVideo stored = recipeVideoRepository.findById(recipeId).orElse(null);
+        if (stored != null) return toResult(stored);
+        var lookup = youTubeService.lookupTopVideoLastYear(recipeName, YoutubeQuotaTracker.TrafficClass.DETAIL);
+        if (lookup.answered()) save(recipeId, lookup.video());
+        return lookup.video();
+    }
+
+    /** 쌓인 조회 수를 저장소에 더함. 주기적으로, 미리 채우기 직전, 종료 시 */
+    @Scheduled(fixedDelayString = "${app.youtube.prefetch.view-counts.flush-interval-ms:60000}",
+            initialDelayString = "${app.youtube.prefetch.view-counts.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flushViews() {
+        ConcurrentHashMap<Long, LongAdder> pending = pendingViews.getAndSet(new ConcurrentHashMap<>());
+        if (pending.isEmpty()) return;
+        Map<Long, Long> deltas = new HashMap<>(pending.size() * 2);
+        pending.forEach((id, n) -> deltas.put(id, n.sum()));
+        try {
+            recipeVideoStore.addViews(deltas);
+            recipeVideoStore.trimViews(maxViewEntries);
+        } catch (RuntimeException e) {
+            log.warn("레시피 조회 수 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    /** 새벽 시간대에 주기적으로 실행. 한 번에 batch-size개까지, 할당량이 막히면 다음 실행으로 넘김 */
+    @Scheduled(cron = "${app.youtube.prefetch.cron:0 */10 2-6 * * *}", zone = "Asia/Seoul")
+    public void prefetch() {
+        if (!prefetchEnabled) return;
+        List<Target> batch = nextBatch();
+        int filled = 0;
+        for (Target target : batch) {
+            var lookup = youTubeService.lookupTopVideoLastYear(target.name(), YoutubeQuotaTracker.TrafficClass.PREFETCH);
+            if (!lookup.answered()) break;
+            save(target.recipeId(), lookup.video());
+            filled++;
+        }
+        if (filled > 0 || !batch.isEmpty()) {
+            log.info("레시피 영상 미리 채우기: {}/{}개", filled, batch.size());
+        }
+    }
+
+    /** 조회 많은 레시피(가상 카탈로그 포함) 중 영상이 없거나 오래된 것 먼저, 남는 자리는 DB 레시피 id 순 */
+    private List<Target> nextBatch() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(maxAgeDays));
+        Map<Long, Target> batch = new LinkedHashMap<>();
+        flushViews();
+        List<Long> popular = recipeVideoStore.mostViewed(batchSize * 4);
+        if (!popular.isEmpty()) {
+            Map<Long, RecipeVideo> stored = new LinkedHashMap<>();
+            recipeVideoRepository.findAllById(popular).forEach(v -> stored.put(v.getRecipeId(), v));
+            Map<Long, String> names = new LinkedHashMap<>();
+            recipeRepository.findAllById(popular.stream().filter(id -> !SyntheticRecipeCatalog.isVirtualId(id)).toList())
+                    .forEach(r -> names.put(r.getId(), r.getName()));
+            for (Long id : popular) {
+                RecipeVideo v = stored.get(id);
+                String name = SyntheticRecipeCatalog.isVirtualId(id) ? syntheticRecipeCatalog.nameOf(id) : names.get(id);
+                if (name != null && (v == null || v.getFetchedAt().isBefore(cutoff))) batch.put(id, new Target(id, name));
+                if (batch.size() >= batchSize) break;
+            }
+        }
+        if (batch.size() < batchSize) {
+            for (Recipe r : recipeVideoRepository.findRecipesNeedingVideo(cutoff, PageRequest.of(0, batchSize * 2))) {
+                batch.putIfAbsent(r.getId(), new Target(r.getId(), r.getName()));
+                if (batch.size() >= batchSize) break;
+            }
+        }
+        return new ArrayList<>(batch.values());
+    }
+
+    private void countView(Long recipeId) {
+        ConcurrentHashMap<Long, LongAdder> pending = pendingViews.get();
+        LongAdder counter = pending.get(recipeId);
+        if (counter == null) {
+            if (pending.size() >= maxPendingViews) return;
+            counter = pending.computeIfAbsent(recipeId, id -> new LongAdder());
+        }
+        // 반영(flushViews)과 겹치면 옛 맵에 더해져 한두 번 빠질 수 있음 (순서용이라 무시)
+        counter.increment();
+    }
+
+    private void save(Long recipeId, YouTubeService.YouTubeVideoResult video) {
+        RecipeVideo row = RecipeVideo.builder()
+                .recipeId(recipeId)
+                .videoId(video != null ? video.getVideoId() : null)
+                .title(video != null ? video.getTitle() : null)
+                .fetchedAt(Instant.now())
+                .build();
+        recipeVideoRepository.save(row);
+        try {
+            recipeVideoStore.saveVideo(row);
+        } catch (RuntimeException e) {
+            log.warn("레시피 영상 저장소 쓰기 실패 (재시작하면 다시 검색): {}", e.getMessage());
+        }
+    }
+
+    private static YouTubeService.YouTubeVideoResult toResult(RecipeVideo v) {
+        return v.getVideoId() == null ? null : new YouTubeService.YouTubeVideoResult(v.getVideoId(), v.getTitle());
+    }
+
+    private record Target(Long recipeId, String name) {
+    }
+}
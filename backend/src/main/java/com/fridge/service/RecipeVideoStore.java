@@ -0,0 +1,95 @@
+package com.fridge.service;
+
+import com.fridge.entity.RecipeVideo;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 레시피 대표 영상·상세 조회 수를 재시작 후에도 남기는 저장소 (앱 기본 H2 in-memory DB와는 별개, 기본은 ./data 볼륨의 H2 파일).
+ * 영상 id는 검색 1번(100 단위)으로 얻은 것이라 Fly 머신이 멈췄다 켜져도 다시 검색하지 않도록 여기 먼저 씀.
+ * 조회 수는 미리 채우기 순서용. 많이 본 max-entries개만 남김.
+ */
+public class RecipeVideoStore implements AutoCloseable {
+
+    private static final String CREATE_VIDEOS = """
+            CREATE TABLE IF NOT EXISTS recipe_videos (
+                recipe_id  BIGINT PRIMARY KEY,
+                video_id   VARCHAR(32),
+                title      VARCHAR(500),
+                fetched_at TIMESTAMP WITH TIME ZONE NOT NULL
+            )""";
+    private static final String CREATE_VIEWS = """
+            CREATE TABLE IF NOT EXISTS recipe_views (
+                recipe_id BIGINT PRIMARY KEY,
+                views     BIGINT NOT NULL
+            )""";
+    private static final String CREATE_VIEWS_INDEX = "CREATE INDEX IF NOT EXISTS idx_recipe_views_views ON recipe_views (views)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** dataSource는 이 저장소 전용 (close 시 함께 닫음) */
+    public RecipeVideoStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_VIDEOS);
+        jdbcTemplate.execute(CREATE_VIEWS);
+        jdbcTemplate.execute(CREATE_VIEWS_INDEX);
+    }
+
+    public List<RecipeVideo> findAllVideos() {
+        return jdbcTemplate.query("SELECT recipe_id, video_id, title, fetched_at FROM recipe_videos", (rs, n) ->
+                RecipeVideo.builder()
+                        .recipeId(rs.getLong(1))
+                        .videoId(rs.getString(2))
+                        .title(rs.getString(3))
+                        .fetchedAt(rs.getTimestamp(4).toInstant())
+                        .build());
+    }
+
+    public void saveVideo(RecipeVideo video) {
+        jdbcTemplate.update("MERGE INTO recipe_videos (recipe_id, video_id, title, fetched_at) KEY (recipe_id) VALUES (?, ?, ?, ?)",
+                video.getRecipeId(), video.getVideoId(), video.getTitle(), Timestamp.from(video.getFetchedAt()));
+    }
+
+    /** 조회 수 더하기 (recipeId → 늘어난 횟수) */
+    public void addViews(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((id, n) -> args.add(new Object[]{id, n}));
+        jdbcTemplate.batchUpdate("MERGE INTO recipe_views t USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT))) s (id, n) "
+                + "ON t.recipe_id = s.id "
+                + "WHEN MATCHED THEN UPDATE SET views = t.views + s.n "
+                + "WHEN NOT MATCHED THEN INSERT (recipe_id, views) VALUES (s.id, s.n)", args);
+    }
+
+    /** 조회 수 많은 순 recipeId */
+    public List<Long> mostViewed(int limit) {
+        return jdbcTemplate.queryForList("SELECT recipe_id FROM recipe_views ORDER BY views DESC, recipe_id LIMIT ?",
+                Long.class, limit);
+    }
+
+    /** 많이 본 maxEntries개만 남기고 삭제 */
+    public void trimViews(int maxEntries) {
+        Long threshold = jdbcTemplate.query("SELECT views FROM recipe_views ORDER BY views DESC LIMIT 1 OFFSET ?",
+                rs -> rs.next() ? rs.getLong(1) : null, maxEntries);
+        if (threshold == null) return;
+        jdbcTemplate.update("DELETE FROM recipe_views WHERE views <= ?", threshold);
+    }
+
+    @Override
+    public void close() {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // 종료 중이므로 무시
+            }
+        }
+    }
+}
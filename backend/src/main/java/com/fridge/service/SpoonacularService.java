@@ -2,19 +2,25 @@ package com.fridge.service;
 
 import com.fridge.dto.RecipeDetailDto;
 import com.fridge.dto.RecipeDto;
-import lombok.RequiredArgsConstructor;
+import com.fridge.dto.external.SpoonacularFoundRecipe;
+import com.fridge.dto.external.SpoonacularInstructionBlock;
+import com.fridge.dto.external.SpoonacularRecipeInformation;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -23,21 +29,53 @@ import java.util.stream.Collectors;
  * 무료 한도(50포인트/일) 내에서만 호출. 초과 시 당일 추가 호출 안 함.
  */
 @Service
-@RequiredArgsConstructor
+@Lazy
 public class SpoonacularService {
 
     private static final Logger log = LoggerFactory.getLogger(SpoonacularService.class);
-    private static final String BASE = "https://api.spoonacular.com";
     /** 무료 50포인트/일 기준, findByIngredients 1+0.01*10 ≈ 1.1 포인트/회 → 일 45회까지 */
     private static final int FREE_DAILY_REQUESTS = 45;
 
+    private static final String QUOTA_BUCKET = "spoonacular";
+    /** 한도 날짜 기준. YouTube 장부·할당량 차단(OutboundResilience)과 같은 Asia/Seoul 0시에 넘어감 (Fly JVM은 UTC) */
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
     private final RestTemplate restTemplate;
-    private volatile LocalDate lastRequestDate = null;
-    private final AtomicInteger dailyRequestCount = new AtomicInteger(0);
+    private final QuotaLedger quotaLedger;
+    private final OutboundResilience outboundResilience;
+    /** 날짜(Asia/Seoul) 판단용. 테스트에서 날짜 변경을 흉내 낼 수 있도록 주입 */
+    private final Clock clock;
+    /** 같은 레시피 상세를 동시에 여러 번 요청하면 외부 호출 1번만 */
+    private final SingleFlight<Long, Optional<RecipeDetailDto>> detailFlights = new SingleFlight<>();
+    /**
+     * 상세 결과 캐시 (실패·null은 저장 안 함). 상세 1회 = 정보 + 순서 호출이라 같은 레시피는 TTL 동안 다시 부르지 않음.
+     * 영상은 YouTube가 실제로 답했을 때만 확정: 할당량·차단으로 검색을 못 했으면 다음 조회 때 영상만 다시 찾음
+     */
+    private final BoundedCache<Long, CachedDetail> detailCache;
 
     @Value("${app.spoonacular.api-key:}")
     private String apiKey;
 
+    /** 부하 테스트 프로필에서는 로컬 스텁 */
+    @Value("${app.spoonacular.base-url:https://api.spoonacular.com}")
+    private String baseUrl;
+
+    @Autowired
+    public SpoonacularService(RestTemplate restTemplate, QuotaLedger quotaLedger, OutboundResilience outboundResilience,
+                              @Value("${app.spoonacular.detail-cache.max-entries:200}") int detailCacheMaxEntries,
+                              @Value("${app.spoonacular.detail-cache.ttl-minutes:360}") long detailCacheTtlMinutes) {
+        this(restTemplate, quotaLedger, outboundResilience, Clock.system(ZONE), detailCacheMaxEntries, detailCacheTtlMinutes);
+    }
+
+    SpoonacularService(RestTemplate restTemplate, QuotaLedger quotaLedger, OutboundResilience outboundResilience, Clock clock,
+                       int detailCacheMaxEntries, long detailCacheTtlMinutes) {
+        this.restTemplate = restTemplate;
+        this.quotaLedger = quotaLedger;
+        this.outboundResilience = outboundResilience;
+        this.clock = clock;
+        this.detailCache = new BoundedCache<>(detailCacheMaxEntries, TimeUnit.MINUTES.toMillis(detailCacheTtlMinutes));
+    }
+
     /** 한글 재료명 → Spoonacular 검색용 영어 (없으면 원문 사용) */
     private static final Map<String, String> KO_TO_EN = Map.ofEntries(
             Map.entry("돼지고기", "pork"), Map.entry("소고기", "beef"), Map.entry("닭고기", "chicken"),
@@ -58,6 +96,7 @@ public class SpoonacularService {
             return List.of();
         }
         if (ingredientNames == null || ingredientNames.isEmpty()) return List.of();
+        if (outboundResilience.isOpen(OutboundResilience.SPOONACULAR)) return List.of();
         if (!withinFreeDailyLimit()) {
             log.debug("Spoonacular 무료 한도 초과로 호출 생략 (일 {}회)", FREE_DAILY_REQUESTS);
             return List.of();
@@ -71,30 +110,29 @@ public class SpoonacularService {
                 .collect(Collectors.toList());
         if (forApi.isEmpty()) return List.of();
         String ingredientsParam = String.join(",", forApi);
-        String url = UriComponentsBuilder.fromHttpUrl(BASE + "/recipes/findByIngredients")
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + "/recipes/findByIngredients")
                 .queryParam("ingredients", ingredientsParam)
                 .queryParam("number", 10)
                 .queryParam("ranking", 1)
                 .queryParam("apiKey", apiKey)
                 .toUriString();
         try {
-            List<Map<String, Object>> list = restTemplate.exchange(url, HttpMethod.GET, null,
-                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}).getBody();
+            List<SpoonacularFoundRecipe> list = outboundResilience.call(OutboundResilience.SPOONACULAR,
+                    () -> restTemplate.exchange(url, HttpMethod.GET, null,
+                            new ParameterizedTypeReference<List<SpoonacularFoundRecipe>>() {}).getBody());
             if (list == null) return List.of();
             List<RecipeDto> result = new ArrayList<>();
-            for (Map<String, Object> item : list) {
-                Object idObj = item.get("id");
-                if (!(idObj instanceof Number)) continue;
-                int extId = ((Number) idObj).intValue();
-                String title = (String) item.get("title");
-                String image = (String) item.get("image");
+            for (SpoonacularFoundRecipe item : list) {
+                if (item == null || item.id() == null) continue;
+                long extId = item.id();
+                String image = item.image();
                 if (image != null && !image.startsWith("http")) image = "https://img.spoonacular.com/recipes/" + image;
                 List<String> ingNames = new ArrayList<>();
-                addIngredientNames(item, "usedIngredients", ingNames);
-                addIngredientNames(item, "missedIngredients", ingNames);
+                addIngredientNames(item.usedIngredients(), ingNames);
+                addIngredientNames(item.missedIngredients(), ingNames);
                 result.add(RecipeDto.builder()
-                        .id((long) -extId)
-                        .name(title != null ? title : "")
+                        .id(-extId)
+                        .name(item.title() != null ? item.title() : "")
                         .description(null)
                         .imageUrl(image)
                         .mainCategory("외부")
@@ -108,104 +146,112 @@ public class SpoonacularService {
         }
     }
 
-    /** 당일 무료 한도 이내면 true, 호출 시 카운트 증가 */
-    private synchronized boolean withinFreeDailyLimit() {
-        LocalDate today = LocalDate.now();
-        if (lastRequestDate == null || !lastRequestDate.equals(today)) {
-            lastRequestDate = today;
-            dailyRequestCount.set(0);
-        }
-        if (dailyRequestCount.get() >= FREE_DAILY_REQUESTS) return false;
-        dailyRequestCount.incrementAndGet();
-        return true;
+    /** 당일 무료 한도 이내면 true, 호출 시 장부에 1회 기록 (장부 종류에 따라 재시작·여러 인스턴스 간 공유) */
+    private boolean withinFreeDailyLimit() {
+        return quotaLedger.tryConsume(QUOTA_BUCKET, LocalDate.ofInstant(clock.instant(), ZONE).toEpochDay(), 1, FREE_DAILY_REQUESTS);
     }
 
-    @SuppressWarnings("unchecked")
-    private void addIngredientNames(Map<String, Object> item, String key, List<String> out) {
-        Object list = item.get(key);
-        if (!(list instanceof List)) return;
-        for (Object o : (List<?>) list) {
-            if (!(o instanceof Map)) continue;
-            String name = (String) ((Map<String, Object>) o).get("name");
-            if (name != null && !name.isBlank()) out.add(name);
+    private void addIngredientNames(List<SpoonacularFoundRecipe.Ingredient> ingredients, List<String> out) {
+        if (ingredients == null) return;
+        for (SpoonacularFoundRecipe.Ingredient ing : ingredients) {
+            if (ing != null && ing.name() != null && !ing.name().isBlank()) out.add(ing.name());
         }
     }
 
     /** Spoonacular 레시피 상세. id는 양수 Spoonacular id */
     public RecipeDetailDto getRecipeDetail(long spoonacularId, YouTubeService youTubeService) {
         if (apiKey == null || apiKey.isBlank()) return null;
-        String infoUrl = UriComponentsBuilder.fromHttpUrl(BASE + "/recipes/" + spoonacularId + "/information")
+        CachedDetail cached = detailCache.get(spoonacularId);
+        if (cached != null && (cached.videoAnswered() || youTubeService == null)) return cached.detail();
+        RecipeDetailDto base = cached != null
+                ? cached.detail()
+                : detailFlights.execute(spoonacularId, () -> Optional.ofNullable(fetchRecipeDetail(spoonacularId))).orElse(null);
+        if (base == null) return null;
+        var lookup = youTubeService != null
+                ? youTubeService.lookupTopVideoLastYear(base.getName(), YoutubeQuotaTracker.TrafficClass.DETAIL)
+                : YouTubeService.TopVideoLookup.NOT_ANSWERED;
+        RecipeDetailDto detail = withVideo(base, lookup.video());
+        detailCache.put(spoonacularId, new CachedDetail(detail, lookup.answered()));
+        return detail;
+    }
+
+    /** 캐시된 객체를 바꾸지 않도록 복사해서 영상만 채움 */
+    private static RecipeDetailDto withVideo(RecipeDetailDto base, YouTubeService.YouTubeVideoResult video) {
+        return RecipeDetailDto.builder()
+                .id(base.getId())
+                .name(base.getName())
+                .description(base.getDescription())
+                .mainCategory(base.getMainCategory())
+                .subCategory(base.getSubCategory())
+                .ingredientsWithAmount(base.getIngredientsWithAmount())
+                .steps(base.getSteps())
+                .youtubeVideoId(video != null ? video.getVideoId() : null)
+                .youtubeTitle(video != null ? video.getTitle() : null)
+                .build();
+    }
+
+    /** 영상 없이 Spoonacular 정보만 (영상은 getRecipeDetail에서 붙임) */
+    private RecipeDetailDto fetchRecipeDetail(long spoonacularId) {
+        if (outboundResilience.isOpen(OutboundResilience.SPOONACULAR)) return null;
+        String infoUrl = UriComponentsBuilder.fromHttpUrl(baseUrl + "/recipes/" + spoonacularId + "/information")
                 .queryParam("apiKey", apiKey)
                 .toUriString();
         try {
-            Map<String, Object> info = restTemplate.getForObject(infoUrl, Map.class);
+            SpoonacularRecipeInformation info = outboundResilience.call(OutboundResilience.SPOONACULAR,
+                    () -> restTemplate.getForObject(infoUrl, SpoonacularRecipeInformation.class));
             if (info == null) return null;
-            String title = (String) info.get("title");
-            List<String> ingredientsWithAmount = parseExtendedIngredients(info.get("extendedIngredients"));
-            List<String> steps = parseAnalyzedInstructions(info.get("analyzedInstructions"));
+            String title = info.title();
+            List<String> ingredientsWithAmount = parseExtendedIngredients(info.extendedIngredients());
+            List<String> steps = parseInstructionBlocks(info.analyzedInstructions());
             if (steps.isEmpty()) {
-                String stepsUrl = UriComponentsBuilder.fromHttpUrl(BASE + "/recipes/" + spoonacularId + "/analyzedInstructions")
+                String stepsUrl = UriComponentsBuilder.fromHttpUrl(baseUrl + "/recipes/" + spoonacularId + "/analyzedInstructions")
                         .queryParam("apiKey", apiKey)
                         .toUriString();
-                List<Map<String, Object>> analyzed = restTemplate.exchange(stepsUrl, HttpMethod.GET, null,
-                        new ParameterizedTypeReference<List<Map<String, Object>>>() {}).getBody();
-                if (analyzed != null) for (Map<String, Object> block : analyzed) steps.addAll(parseStepsFromBlock(block));
+                List<SpoonacularInstructionBlock> analyzed = outboundResilience.call(OutboundResilience.SPOONACULAR,
+                        () -> restTemplate.exchange(stepsUrl, HttpMethod.GET, null,
+                                new ParameterizedTypeReference<List<SpoonacularInstructionBlock>>() {}).getBody());
+                steps = parseInstructionBlocks(analyzed);
             }
-            if (steps.isEmpty() && info.get("instructions") != null) {
-                String html = info.get("instructions").toString();
+            if (steps.isEmpty() && info.instructions() != null) {
+                String html = info.instructions();
                 if (!html.isBlank()) steps = List.of(html.replaceAll("<[^>]+>", " ").trim());
             }
-            var video = youTubeService != null ? youTubeService.searchTopVideoLastYear(title) : null;
             return RecipeDetailDto.builder()
                     .id((long) -spoonacularId)
                     .name(title != null ? title : "")
-                    .description((String) info.get("summary"))
+                    .description(info.summary())
                     .mainCategory("외부")
                     .subCategory("Spoonacular")
                     .ingredientsWithAmount(ingredientsWithAmount)
                     .steps(steps)
-                    .youtubeVideoId(video != null ? video.getVideoId() : null)
-                    .youtubeTitle(video != null ? video.getTitle() : null)
                     .build();
         } catch (Exception e) {
             return null;
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> parseExtendedIngredients(Object ext) {
-        if (!(ext instanceof List)) return List.of();
-        List<String> out = new ArrayList<>();
-        for (Object o : (List<?>) ext) {
-            if (!(o instanceof Map)) continue;
-            Map<String, Object> m = (Map<String, Object>) o;
-            String original = (String) m.get("original");
-            if (original != null && !original.isBlank()) out.add(original);
+    private List<String> parseExtendedIngredients(List<SpoonacularRecipeInformation.ExtendedIngredient> ext) {
+        if (ext == null) return List.of();
+        List<String> out = new ArrayList<>(ext.size());
+        for (SpoonacularRecipeInformation.ExtendedIngredient ing : ext) {
+            if (ing != null && ing.original() != null && !ing.original().isBlank()) out.add(ing.original());
         }
         return out;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> parseAnalyzedInstructions(Object analyzed) {
-        if (!(analyzed instanceof List)) return List.of();
+    private List<String> parseInstructionBlocks(List<SpoonacularInstructionBlock> blocks) {
+        if (blocks == null) return List.of();
         List<String> steps = new ArrayList<>();
-        for (Object block : (List<?>) analyzed) {
-            if (!(block instanceof Map)) continue;
-            steps.addAll(parseStepsFromBlock((Map<String, Object>) block));
+        for (SpoonacularInstructionBlock block : blocks) {
+            if (block == null || block.steps() == null) continue;
+            for (SpoonacularInstructionBlock.Step s : block.steps()) {
+                if (s != null && s.step() != null && !s.step().isBlank()) steps.add(s.step());
+            }
         }
         return steps;
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> parseStepsFromBlock(Map<String, Object> block) {
-        List<String> steps = new ArrayList<>();
-        Object stepsList = block.get("steps");
-        if (!(stepsList instanceof List)) return steps;
-        for (Object s : (List<?>) stepsList) {
-            if (!(s instanceof Map)) continue;
-            String step = (String) ((Map<String, Object>) s).get("step");
-            if (step != null && !step.isBlank()) steps.add(step);
-        }
-        return steps;
+    /** videoAnswered: 영상 검색에 YouTube가 실제로 답했는지 (false면 다음 조회 때 영상만 다시 검색) */
+    private record CachedDetail(RecipeDetailDto detail, boolean videoAnswered) {
     }
 }
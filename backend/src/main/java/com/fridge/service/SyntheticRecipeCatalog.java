@@ -0,0 +1,206 @@
+package com.fridge.service;
+
+import com.fridge.dto.RecipeDetailDto;
+import com.fridge.dto.RecipeDto;
+import com.fridge.entity.Ingredient;
+import com.fridge.repository.IngredientRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시드 레시피(1·2·3개 재료 조합 × RECIPES_PER_COMBO)를 DB에 넣지 않고 id에서 바로 계산하는 가상 카탈로그.
+ * 이름·설명·분류·순서가 모두 (재료 조합, 조합 순번, r)의 순수 함수라 id = VIRTUAL_ID_BASE + 조합 번호 * RECIPES_PER_COMBO + r 로 되돌릴 수 있음.
+ * app.recipe.seed.mode=virtual일 때 사용 (stored면 RecipeSeedLoader가 같은 함수로 만든 행을 DB에 적재).
+ * 재료 목록이 바뀌면(카탈로그 버전) 조합표를 다시 만듦.
+ */
+@Component
+public class SyntheticRecipeCatalog {
+
+    /** 가상 레시피 id 시작값 (DB id와 겹치지 않도록 충분히 큼) */
+    public static final long VIRTUAL_ID_BASE = 1_000_000_000L;
+    public static final int RECIPES_PER_COMBO = 10;
+    private static final String[] SUFFIXES = {"볶음", "찌개", "구이", "전", "밥", "무침", "조림", "볶음밥", "덮밥", "국", "탕", "스프", "샐러드", "튀김", "찜"};
+
+    private final IngredientRepository ingredientRepository;
+    private final CatalogVersion catalogVersion;
+    private final boolean enabled;
+    private volatile Snapshot snapshot;
+
+    public SyntheticRecipeCatalog(IngredientRepository ingredientRepository, CatalogVersion catalogVersion,
+                                  @Value("${app.recipe.seed.enabled:false}") boolean seedEnabled,
+                                  @Value("${app.recipe.seed.mode:virtual}") String seedMode) {
+        this.ingredientRepository = ingredientRepository;
+        this.catalogVersion = catalogVersion;
+        this.enabled = seedEnabled && "virtual".equalsIgnoreCase(seedMode.trim());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isVirtualId(Long recipeId) {
+        return recipeId != null && recipeId >= VIRTUAL_ID_BASE;
+    }
+
+    /** 재료 조합 수 (꺼져 있으면 0) */
+    public int comboCount() {
+        return enabled ? current().combos.length : 0;
+    }
+
+    /** 조합 c의 재료 id들 (인덱스 구성용) */
+    public long[] comboIngredientIds(int c) {
+        Snapshot s = current();
+        int[] members = s.combos[c];
+        long[] ids = new long[members.length];
+        for (int k = 0; k < members.length; k++) ids[k] = s.ingredients.get(members[k]).getId();
+        return ids;
+    }
+
+    public static long recipeId(int combo, int r) {
+        return VIRTUAL_ID_BASE + (long) combo * RECIPES_PER_COMBO + r;
+    }
+
+    /** 범위 밖이거나 꺼져 있으면 null */
+    public RecipeDto recipeDto(long recipeId) {
+        Recipe recipe = resolve(recipeId);
+        if (recipe == null) return null;
+        return RecipeDto.builder()
+                .id(recipeId)
+                .name(recipe.name())
+                .description(description(recipe.ingredientNames(), recipe.suffix()))
+                .mainCategory("한식")
+                .subCategory(subCategoryFor(recipe.suffix()))
+                .ingredientNames(recipe.ingredientNames())
+                .build();
+    }
+
+    /** 영상 정보 없는 상세. 범위 밖이거나 꺼져 있으면 null */
+    public RecipeDetailDto detail(long recipeId) {
+        Recipe recipe = resolve(recipeId);
+        if (recipe == null) return null;
+        return RecipeDetailDto.builder()
+                .id(recipeId)
+                .name(recipe.name())
+                .description(description(recipe.ingredientNames(), recipe.suffix()))
+                .mainCategory("한식")
+                .subCategory(subCategoryFor(recipe.suffix()))
+                .ingredientsWithAmount(recipe.ingredientNames())
+                .steps(stepsFor(recipe.ingredientNames(), recipe.suffix()))
+                .build();
+    }
+
+    /** 레시피 이름만 (영상 미리 채우기용). 범위 밖이면 null */
+    public String nameOf(long recipeId) {
+        Recipe recipe = resolve(recipeId);
+        return recipe != null ? recipe.name() : null;
+    }
+
+    private Recipe resolve(long recipeId) {
+        if (!enabled || recipeId < VIRTUAL_ID_BASE) return null;
+        Snapshot s = current();
+        long offset = recipeId - VIRTUAL_ID_BASE;
+        long combo = offset / RECIPES_PER_COMBO;
+        if (combo >= s.combos.length) return null;
+        int c = (int) combo;
+        int r = (int) (offset % RECIPES_PER_COMBO);
+        int[] members = s.combos[c];
+        List<String> names = new ArrayList<>(members.length);
+        for (int m : members) names.add(s.ingredients.get(m).getName());
+        String suffix = suffixFor(c, members.length, s.ingredients.size(), r);
+        return new Recipe(recipeName(names, suffix, r), List.copyOf(names), suffix);
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null || s.version != catalogVersion.current()) {
+            synchronized (this) {
+                s = snapshot;
+                if (s == null || s.version != catalogVersion.current()) {
+                    long version = catalogVersion.current();
+                    List<Ingredient> all = ingredientRepository.findAllByOrderByNameAsc();
+                    s = new Snapshot(version, List.copyOf(all), combos(all.size()));
+                    snapshot = s;
+                }
+            }
+        }
+        return s;
+    }
+
+    // ---- 시드 레시피 생성 규칙 (stored 모드의 RecipeSeedLoader와 공유) ----
+
+    /** 1개 → 2개 → 3개 조합 순, 각 조합은 재료 목록(이름순) 인덱스 오름차순 */
+    public static int[][] combos(int n) {
+        int count = n + n * (n - 1) / 2 + n * (n - 1) * (n - 2) / 6;
+        int[][] combos = new int[count][];
+        int c = 0;
+        for (int i = 0; i < n; i++) combos[c++] = new int[]{i};
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                combos[c++] = new int[]{i, j};
+        for (int i = 0; i < n; i++)
+            for (int j = i + 1; j < n; j++)
+                for (int k = j + 1; k < n; k++)
+                    combos[c++] = new int[]{i, j, k};
+        return combos;
+    }
+
+    /** 접미사는 같은 크기 조합 안에서의 순번으로 정함 */
+    public static String suffixFor(int combo, int comboSize, int n, int r) {
+        int indexInGroup = switch (comboSize) {
+            case 1 -> combo;
+            case 2 -> combo - n;
+            default -> combo - n - n * (n - 1) / 2;
+        };
+        return SUFFIXES[(indexInGroup * RECIPES_PER_COMBO + r) % SUFFIXES.length];
+    }
+
+    public static String recipeName(List<String> ingNames, String suffix, int r) {
+        return String.join(" ", ingNames) + " " + suffix + (r > 0 ? " " + (r + 1) : "");
+    }
+
+    public static String description(List<String> ingNames, String suffix) {
+        return ingNames + "으로 만드는 " + suffix + " 요리.";
+    }
+
+    public static String subCategoryFor(String suffix) {
+        switch (suffix) {
+            case "밥": case "볶음밥": case "덮밥": return "밥류";
+            case "찌개": case "국": case "탕": case "스프": return "국물류";
+            case "전": case "튀김": case "구이": case "무침": case "조림": case "볶음": case "찜": return "반찬";
+            case "샐러드": return "샐러드";
+            default: return "반찬";
+        }
+    }
+
+    public static List<String> stepsFor(List<String> ingNames, String suffix) {
+        List<String> steps = new ArrayList<>();
+        steps.add(ingNames + " 재료를 준비한다.");
+        if (suffix.contains("찌개") || suffix.contains("국") || suffix.contains("탕")) {
+            steps.add("냄비에 물을 올리고 재료를 넣어 끓인다.");
+            steps.add("간장·소금으로 간을 맞춘다.");
+        } else if (suffix.contains("볶음") || suffix.contains("밥")) {
+            steps.add("팬에 기름을 두르고 재료를 넣어 볶는다.");
+            steps.add("불을 끄고 참기름을 넣어 비빈다.");
+        } else if (suffix.contains("전") || suffix.contains("튀김")) {
+            steps.add("재료를 썰어 달걀물·부침가루를 묻힌다.");
+            steps.add("팬에 기름을 두르고 앞뒤로 굽는다.");
+        } else if (suffix.contains("구이") || suffix.contains("찜")) {
+            steps.add("재료에 양념을 발라 10분 재운다.");
+            steps.add("그릴이나 찜기에 익힌다.");
+        } else {
+            steps.add("재료를 넣어 익힌다.");
+            steps.add("완성한다.");
+        }
+        return steps;
+    }
+
+    private record Recipe(String name, List<String> ingredientNames, String suffix) {
+    }
+
+    /** 재료 목록(이름순)과 조합표. 조합표는 재료 인덱스만 들고 있어 36개 재료 기준 7,806개 int[] */
+    private record Snapshot(long version, List<Ingredient> ingredients, int[][] combos) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.fridge.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 자막 줄을 받는 대로 레시피 단계로 묶음. 줄 목록 전체를 모아 두지 않음.
+ * 짧은 자막 줄을 이어 붙이다가 일정 길이를 넘거나 문장이 끝나면(., 요, 다) 한 단계로 확정.
+ * 5자 미만 단계는 버리고 최대 maxSteps개까지만. 다 차면 {@link #isFull()} → 읽기를 멈춰도 됨.
+ */
+public final class TranscriptStepOrganizer {
+
+    private static final int MIN_STEP_LENGTH = 5;
+
+    private final int maxSteps;
+    private final int minCharsPerStep;
+    private final List<String> steps = new ArrayList<>();
+    private final StringBuilder current = new StringBuilder();
+
+    public TranscriptStepOrganizer(int maxSteps, int minCharsPerStep) {
+        this.maxSteps = maxSteps;
+        this.minCharsPerStep = minCharsPerStep;
+    }
+
+    public void accept(CharSequence line) {
+        if (isFull()) return;
+        String t = line.toString().trim();
+        if (t.isEmpty()) return;
+        if (current.length() > 0) current.append(' ');
+        current.append(t);
+        if (current.length() >= minCharsPerStep || t.endsWith(".") || t.endsWith("요") || t.endsWith("다")) {
+            flush();
+        }
+    }
+
+    public boolean isFull() {
+        return steps.size() >= maxSteps;
+    }
+
+    /** 남은 조각까지 확정한 단계 목록 */
+    public List<String> finish() {
+        if (!isFull()) flush();
+        return Collections.unmodifiableList(steps);
+    }
+
+    private void flush() {
+        String step = current.toString().trim();
+        current.setLength(0);
+        if (step.length() >= MIN_STEP_LENGTH) steps.add(step);
+    }
+}
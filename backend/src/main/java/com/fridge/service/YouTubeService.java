@@ -1,12 +1,17 @@
 package com.fridge.service;
 
+import com.fridge.dto.external.GoogleErrorResponse;
+import com.fridge.dto.external.YoutubeSearchResponse;
+import com.fridge.dto.external.YoutubeVideoListResponse;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.ZonedDateTime;
@@ -14,7 +19,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +27,7 @@ import java.util.stream.Collectors;
  * Google Cloud에서 YouTube Data API v3 사용 설정 필요.
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class YouTubeService {
 
@@ -31,50 +36,80 @@ public class YouTubeService {
 
     private final RestTemplate restTemplate;
     private final YoutubeQuotaTracker youtubeQuotaTracker;
+    private final YoutubeSearchCache youtubeSearchCache;
+    private final OutboundResilience outboundResilience;
+    /** 같은 검색·영상 조회가 동시에 여러 번 들어오면 외부 호출 1번만 (할당량 중복 차감 방지) */
+    private final SingleFlight<String, YouTubeSearchResult> searchFlights = new SingleFlight<>();
+    /** 등급별로 따로 묶음: 상한이 낮은 등급(PREFETCH)이 막혀 NOT_ANSWERED여도 상세 요청은 자기 예산으로 검색 */
+    private final SingleFlight<TopVideoFlight, TopVideoLookup> topVideoFlights = new SingleFlight<>();
+    private final SingleFlight<String, DescriptionLookup> descriptionFlights = new SingleFlight<>();
 
     @Value("${app.youtube.api-key:}")
     private String apiKey;
 
-    private static final String SEARCH_URL = "https://www.googleapis.com/youtube/v3/search?part=snippet&type=video&order=viewCount&maxResults=1&q={q}&publishedAfter={publishedAfter}&key={key}";
-    private static final String SEARCH_URL_MULTI = "https://www.googleapis.com/youtube/v3/search?part=snippet&type=video&order=viewCount&maxResults=15&q={q}&publishedAfter={publishedAfter}&key={key}";
-    private static final String VIDEO_DETAIL_URL = "https://www.googleapis.com/youtube/v3/videos?part=snippet&id={id}&key={key}";
+    /** YouTube Data API 주소 (부하 테스트 프로필에서는 로컬 스텁) */
+    @Value("${app.youtube.api-base-url:https://www.googleapis.com/youtube/v3}")
+    private String apiBaseUrl;
+
+    /** fields: 쓰는 필드만 받도록 부분 응답 요청 (응답 크기·파싱 비용 감소, 할당량 비용은 동일) */
+    private static final String SEARCH_URL = "/search?part=snippet&type=video&order=viewCount&maxResults=1&q={q}&publishedAfter={publishedAfter}&fields=items(id/videoId,snippet/title)&key={key}";
+    private static final String SEARCH_URL_MULTI = "/search?part=snippet&type=video&order=viewCount&maxResults=15&q={q}&publishedAfter={publishedAfter}&fields=items(id/videoId,snippet/title)&key={key}";
+    private static final String VIDEO_DETAIL_URL = "/videos?part=snippet&id={id}&fields=items(snippet/description)&key={key}";
 
     public YouTubeVideoResult searchTopVideoLastYear(String recipeName) {
+        return searchTopVideoLastYear(recipeName, YoutubeQuotaTracker.TrafficClass.DETAIL);
+    }
+
+    /** trafficClass: 할당량이 부족할 때 어느 등급부터 막을지 (백그라운드 작업은 PREFETCH) */
+    public YouTubeVideoResult searchTopVideoLastYear(String recipeName, YoutubeQuotaTracker.TrafficClass trafficClass) {
+        return lookupTopVideoLastYear(recipeName, trafficClass).video();
+    }
+
+    /**
+     * searchTopVideoLastYear와 같지만 "검색해서 결과가 없음"과 "검색하지 못함(키 없음·할당량·차단·오류)"을 구분.
+     * 결과를 저장해 두는 쪽(영상 미리 채우기)은 answered=true일 때만 저장해야 함
+     */
+    public TopVideoLookup lookupTopVideoLastYear(String recipeName, YoutubeQuotaTracker.TrafficClass trafficClass) {
         if (apiKey == null || apiKey.isBlank()) {
             if (!loggedNoKey) {
                 loggedNoKey = true;
                 log.info("YouTube API 키가 없어 썸네일/영상이 표시되지 않습니다. backend/application-local.properties에 app.youtube.api-key= 를 넣거나 환경변수 APP_YOUTUBE_API_KEY 를 설정하세요.");
             }
-            return null;
+            return TopVideoLookup.NOT_ANSWERED;
         }
         String q = (recipeName != null ? recipeName : "").trim();
-        if (q.isEmpty()) return null;
+        if (q.isEmpty()) return TopVideoLookup.NOT_ANSWERED;
+        return topVideoFlights.execute(new TopVideoFlight(trafficClass, q), () -> fetchTopVideoLastYear(q, trafficClass));
+    }
+
+    private TopVideoLookup fetchTopVideoLastYear(String q, YoutubeQuotaTracker.TrafficClass trafficClass) {
+        if (outboundResilience.isOpen(OutboundResilience.YOUTUBE_SEARCH)) return TopVideoLookup.NOT_ANSWERED;
+        var reservation = youtubeQuotaTracker.tryReserve(YoutubeQuotaTracker.Method.SEARCH, trafficClass);
+        if (reservation == null) {
+            log.debug("YouTube 할당량 부족으로 메뉴 영상 검색 생략 (메뉴: {}, 등급: {})", q, trafficClass);
+            return TopVideoLookup.NOT_ANSWERED;
+        }
         String publishedAfter = ZonedDateTime.now().minusYears(1).format(DateTimeFormatter.ISO_INSTANT);
         try {
-            Map<String, ?> response = restTemplate.getForObject(SEARCH_URL, Map.class, q, publishedAfter, apiKey);
-            if (response == null) return null;
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>) response.get("items");
-            if (items == null || items.isEmpty()) return null;
-            Map<String, Object> first = items.get(0);
-            Object idObj = first.get("id");
-            if (!(idObj instanceof Map)) return null;
-            @SuppressWarnings("unchecked")
-            String videoId = (String) ((Map<String, Object>) idObj).get("videoId");
-            Object snippetObj = first.get("snippet");
-            String title = null;
-            if (snippetObj instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> snippet = (Map<String, Object>) snippetObj;
-                title = (String) snippet.get("title");
-            }
-            return new YouTubeVideoResult(videoId, title);
+            YoutubeSearchResponse response = outboundResilience.call(OutboundResilience.YOUTUBE_SEARCH,
+                    () -> restTemplate.getForObject(apiBaseUrl + SEARCH_URL, YoutubeSearchResponse.class, q, publishedAfter, apiKey));
+            if (response == null || response.items() == null || response.items().isEmpty()) return TopVideoLookup.NONE_FOUND;
+            YoutubeSearchResponse.Item first = response.items().get(0);
+            if (first == null || first.videoId() == null) return TopVideoLookup.NONE_FOUND;
+            return new TopVideoLookup(true, new YouTubeVideoResult(first.videoId(), first.title()));
         } catch (Exception e) {
+            if (e instanceof ResourceAccessException || e instanceof CallNotPermittedException) youtubeQuotaTracker.refund(reservation);
             log.warn("YouTube 검색 실패 (메뉴: {}): {}. YouTube Data API v3 사용 설정·할당량 확인: https://console.cloud.google.com/apis/library/youtube.googleapis.com", q, e.getMessage());
-            return null;
+            return TopVideoLookup.NOT_ANSWERED;
         }
     }
 
+    /** answered: YouTube가 실제로 응답했는지. video: 결과 (없으면 null) */
+    public record TopVideoLookup(boolean answered, YouTubeVideoResult video) {
+        static final TopVideoLookup NOT_ANSWERED = new TopVideoLookup(false, null);
+        static final TopVideoLookup NONE_FOUND = new TopVideoLookup(true, null);
+    }
+
     /** 선택한 재료 이름으로 유튜브 검색. strictOnly=true면 "해당 재료만", false면 "다양하게". 실패 시 errorReason에 사유 담김. */
     public YouTubeSearchResult searchByIngredients(List<String> ingredientNames, boolean strictOnly) {
         if (apiKey == null || apiKey.isBlank()) {
@@ -88,73 +123,69 @@ public class YouTubeService {
             log.debug("searchByIngredients: 재료 목록이 비어 있어 검색하지 않습니다.");
             return new YouTubeSearchResult(List.of(), null);
         }
-        String q = ingredientNames.stream()
-                .filter(s -> s != null && !s.isBlank())
-                .map(String::trim)
+        // 순서만 다른 같은 재료 조합은 같은 검색어·같은 캐시 키가 되도록 정렬
+        List<String> canonical = YoutubeSearchCache.canonicalNames(ingredientNames);
+        String q = canonical.stream()
                 .limit(10)
                 .collect(Collectors.joining(" "));
         if (q.isBlank()) return new YouTubeSearchResult(List.of(), null);
-        q = strictOnly ? (q + " 만으로 만드는 레시피") : (q + " 레시피");
+        String cacheKey = YoutubeSearchCache.key(canonical, strictOnly);
+        var cached = youtubeSearchCache.get(cacheKey);
+        if (cached.isPresent()) return new YouTubeSearchResult(pickRandom(cached.get()), null);
+        String query = strictOnly ? (q + " 만으로 만드는 레시피") : (q + " 레시피");
+        YouTubeSearchResult fetched = searchFlights.execute(cacheKey, () -> fetchByIngredients(query, cacheKey));
+        return new YouTubeSearchResult(pickRandom(fetched.getVideos()), fetched.getErrorReason());
+    }
+
+    /** 실제 API 호출. 성공 시 전체 결과(최대 15개)를 캐시에 넣고 그대로 반환 */
+    private YouTubeSearchResult fetchByIngredients(String q, String cacheKey) {
+        // 바로 앞서 끝난 같은 검색이 캐시를 채웠을 수 있음
+        var cached = youtubeSearchCache.peek(cacheKey);
+        if (cached.isPresent()) return new YouTubeSearchResult(cached.get(), null);
+        if (outboundResilience.isOpen(OutboundResilience.YOUTUBE_SEARCH)) {
+            return staleOr(cacheKey, "YouTube API 호출이 일시 중단된 상태입니다(할당량 초과 또는 연속 오류). 잠시 후 다시 시도하세요.");
+        }
+        var reservation = youtubeQuotaTracker.tryReserve(YoutubeQuotaTracker.Method.SEARCH, YoutubeQuotaTracker.TrafficClass.INTERACTIVE);
+        if (reservation == null) {
+            // 한도 소진: 만료된 캐시라도 있으면 그걸로 대체
+            return staleOr(cacheKey, "오늘 YouTube 검색 할당량을 모두 사용했습니다. 내일 다시 시도하세요.");
+        }
         String publishedAfter = ZonedDateTime.now().minusYears(1).format(DateTimeFormatter.ISO_INSTANT);
-        youtubeQuotaTracker.addSearchUsage();
         try {
-            Map<String, ?> response = restTemplate.getForObject(SEARCH_URL_MULTI, Map.class, q, publishedAfter, apiKey);
+            YoutubeSearchResponse response = outboundResilience.call(OutboundResilience.YOUTUBE_SEARCH,
+                    () -> restTemplate.getForObject(apiBaseUrl + SEARCH_URL_MULTI, YoutubeSearchResponse.class, q, publishedAfter, apiKey));
             if (response == null) {
                 log.warn("YouTube 검색 응답이 null입니다. (q: {})", q);
                 return new YouTubeSearchResult(List.of(), "YouTube 검색 응답이 없습니다. 네트워크 또는 API 상태를 확인하세요.");
             }
-            Object errorObj = response.get("error");
-            if (errorObj instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> err = (Map<String, Object>) errorObj;
-                Integer code = (Integer) err.get("code");
-                String message = (String) err.get("message");
-                log.warn("YouTube API 에러 (q: {}). code={}, message={}. API 키·할당량·YouTube Data API v3 사용 설정을 확인하세요.", q, code, message);
-                String reason = message != null ? message : ("code=" + code);
-                if (code != null && code == 403) {
-                    reason = "할당량 초과 또는 API 접근 거부(403). " + (message != null ? message : "Google Cloud Console에서 YouTube Data API v3 할당량·API 사용 설정을 확인하세요.");
-                }
-                return new YouTubeSearchResult(List.of(), reason);
-            }
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>) response.get("items");
-            if (items == null || items.isEmpty()) {
+            if (response.items() == null || response.items().isEmpty()) {
                 log.debug("YouTube 검색 결과 없음 (q: {}). 응답에 items가 없거나 비어 있습니다.", q);
+                youtubeSearchCache.put(cacheKey, List.of());
                 return new YouTubeSearchResult(List.of(), null);
             }
-            List<YouTubeVideoResult> list = new ArrayList<>();
-            for (Map<String, Object> item : items) {
-                Object idObj = item.get("id");
-                if (!(idObj instanceof Map)) continue;
-                @SuppressWarnings("unchecked")
-                String videoId = (String) ((Map<String, Object>) idObj).get("videoId");
-                if (videoId == null || videoId.isBlank()) continue;
-                String title = null;
-                Object snippetObj = item.get("snippet");
-                if (snippetObj instanceof Map) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> snippet = (Map<String, Object>) snippetObj;
-                    title = (String) snippet.get("title");
-                }
-                list.add(new YouTubeVideoResult(videoId, title != null ? title : ""));
+            List<YouTubeVideoResult> list = new ArrayList<>(response.items().size());
+            for (YoutubeSearchResponse.Item item : response.items()) {
+                if (item == null || item.videoId() == null || item.videoId().isBlank()) continue;
+                list.add(new YouTubeVideoResult(item.videoId(), item.title() != null ? item.title() : ""));
             }
-            Collections.shuffle(list);
-            return new YouTubeSearchResult(list.stream().limit(9).collect(Collectors.toList()), null);
+            youtubeSearchCache.put(cacheKey, list);
+            return new YouTubeSearchResult(list, null);
+        } catch (CallNotPermittedException e) {
+            youtubeQuotaTracker.refund(reservation);
+            return staleOr(cacheKey, "YouTube API 호출이 일시 중단된 상태입니다(할당량 초과 또는 연속 오류). 잠시 후 다시 시도하세요.");
         } catch (Exception e) {
+            // Google에 닿지 못한 호출(연결·읽기 타임아웃 등)은 할당량을 쓰지 않았으므로 반환
+            if (e instanceof ResourceAccessException) youtubeQuotaTracker.refund(reservation);
             String friendlyReason = null;
-            if (e instanceof HttpStatusCodeException ex) {
-                if (ex.getStatusCode().value() == 403) {
-                    String body = ex.getResponseBodyAsString();
-                    if (body != null && (body.contains("quotaExceeded") || body.contains("quota"))) {
-                        friendlyReason = "YouTube API 일일 할당량을 초과했습니다. 내일 다시 시도하거나 Google Cloud Console에서 할당량을 확인하세요.";
-                    } else {
-                        friendlyReason = "YouTube API 접근이 거부되었습니다(403). API 키·YouTube Data API v3 사용 설정을 확인하세요.";
-                    }
+            if (e instanceof HttpStatusCodeException ex && ex.getStatusCode().value() == 403) {
+                GoogleErrorResponse error = GoogleErrorResponse.from(ex);
+                if (error != null && error.isQuotaExceeded()) {
+                    friendlyReason = "YouTube API 일일 할당량을 초과했습니다. 내일 다시 시도하거나 Google Cloud Console에서 할당량을 확인하세요.";
+                } else {
+                    friendlyReason = "YouTube API 접근이 거부되었습니다(403). "
+                            + (error != null && error.message() != null ? error.message() : "API 키·YouTube Data API v3 사용 설정을 확인하세요.");
                 }
             }
-            if (friendlyReason == null && e.getMessage() != null && (e.getMessage().contains("403") || e.getMessage().contains("quota"))) {
-                friendlyReason = "YouTube API 일일 할당량을 초과했습니다. 내일 다시 시도하세요.";
-            }
             if (friendlyReason == null) {
                 friendlyReason = "YouTube 검색 실패: " + (e.getMessage() != null ? e.getMessage() : "연결 오류");
             }
@@ -163,6 +194,20 @@ public class YouTubeService {
         }
     }
 
+    /** 만료된 캐시라도 있으면 그걸로, 없으면 빈 결과 + 사유 */
+    private YouTubeSearchResult staleOr(String cacheKey, String reason) {
+        var stale = youtubeSearchCache.peekStale(cacheKey);
+        if (stale.isPresent()) return new YouTubeSearchResult(stale.get(), null);
+        return new YouTubeSearchResult(List.of(), reason);
+    }
+
+    /** 검색 결과(최대 15개) 중 무작위 9개 */
+    private static List<YouTubeVideoResult> pickRandom(List<YouTubeVideoResult> videos) {
+        List<YouTubeVideoResult> copy = new ArrayList<>(videos);
+        Collections.shuffle(copy);
+        return copy.stream().limit(9).collect(Collectors.toList());
+    }
+
     @Data
     public static class YouTubeSearchResult {
         private final List<YouTubeVideoResult> videos;
@@ -172,23 +217,49 @@ public class YouTubeService {
 
     /** 영상 상세(snippet)에서 설명(description) 조회. 자막 없을 때 레시피 추출 fallback용 */
     public String getVideoDescription(String videoId) {
-        if (apiKey == null || apiKey.isBlank()) return null;
-        if (videoId == null || videoId.isBlank()) return null;
+        return lookupVideoDescription(videoId).description();
+    }
+
+    /**
+     * getVideoDescription과 같지만 "설명이 없음"과 "조회하지 못함(키 없음·할당량·차단·오류)"을 구분.
+     * 빈 결과를 캐시하는 쪽(레시피 순서)은 answered=true일 때만 저장해야 함
+     */
+    public DescriptionLookup lookupVideoDescription(String videoId) {
+        if (apiKey == null || apiKey.isBlank()) return DescriptionLookup.NOT_ANSWERED;
+        if (videoId == null || videoId.isBlank()) return DescriptionLookup.NOT_ANSWERED;
+        return descriptionFlights.execute(videoId, () -> fetchVideoDescription(videoId));
+    }
+
+    private DescriptionLookup fetchVideoDescription(String videoId) {
+        if (outboundResilience.isOpen(OutboundResilience.YOUTUBE_VIDEOS)) return DescriptionLookup.NOT_ANSWERED;
+        var reservation = youtubeQuotaTracker.tryReserve(YoutubeQuotaTracker.Method.VIDEOS_LIST, YoutubeQuotaTracker.TrafficClass.DETAIL);
+        if (reservation == null) {
+            log.debug("YouTube 할당량 부족으로 영상 설명 조회 생략 videoId={}", videoId);
+            return DescriptionLookup.NOT_ANSWERED;
+        }
         try {
-            Map<String, ?> response = restTemplate.getForObject(VIDEO_DETAIL_URL, Map.class, videoId, apiKey);
-            if (response == null) return null;
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> items = (List<Map<String, Object>>) response.get("items");
-            if (items == null || items.isEmpty()) return null;
-            Object snippetObj = items.get(0).get("snippet");
-            if (!(snippetObj instanceof Map)) return null;
-            return (String) ((Map<String, ?>) snippetObj).get("description");
+            YoutubeVideoListResponse response = outboundResilience.call(OutboundResilience.YOUTUBE_VIDEOS,
+                    () -> restTemplate.getForObject(apiBaseUrl + VIDEO_DETAIL_URL, YoutubeVideoListResponse.class, videoId, apiKey));
+            if (response == null || response.items() == null || response.items().isEmpty()) return DescriptionLookup.NONE_FOUND;
+            YoutubeVideoListResponse.Item first = response.items().get(0);
+            String description = first != null && first.snippet() != null ? first.snippet().description() : null;
+            return description != null ? new DescriptionLookup(true, description) : DescriptionLookup.NONE_FOUND;
         } catch (Exception e) {
+            if (e instanceof ResourceAccessException || e instanceof CallNotPermittedException) youtubeQuotaTracker.refund(reservation);
             log.debug("영상 설명 조회 실패 videoId={}: {}", videoId, e.getMessage());
-            return null;
+            return DescriptionLookup.NOT_ANSWERED;
         }
     }
 
+    /** answered: YouTube가 실제로 응답했는지. description: 설명 (없으면 null) */
+    public record DescriptionLookup(boolean answered, String description) {
+        static final DescriptionLookup NOT_ANSWERED = new DescriptionLookup(false, null);
+        static final DescriptionLookup NONE_FOUND = new DescriptionLookup(true, null);
+    }
+
+    private record TopVideoFlight(YoutubeQuotaTracker.TrafficClass trafficClass, String query) {
+    }
+
     @Data
     public static class YouTubeVideoResult {
         private final String videoId;
@@ -1,51 +1,141 @@
 package com.fridge.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
- * YouTube API 일일 사용량 추정 (검색 호출 시 100 단위 가정).
- * Google은 잔여 할당량 API를 제공하지 않으므로 서버에서 호출 횟수만 추정.
+ * YouTube API 일일 할당량 수문장. 호출 전에 API 메서드 비용만큼 예약하고, 한도를 넘으면 거절.
+ * Google은 잔여 할당량 API를 제공하지 않으므로 서버에서 예약한 양으로 추정.
+ * <p>
+ * 트래픽 등급마다 쓸 수 있는 상한이 달라, 한도가 가까워지면 백그라운드 → 상세 → 추천 순으로 먼저 막힘
+ * (막힌 호출은 캐시된 결과로 대체). 사용량은 {@link QuotaLedger}에 날짜(Asia/Seoul)별로 원자적으로 기록되므로
+ * 장부 구현에 따라 재시작·여러 인스턴스에도 한 예산을 유지.
  */
 @Service
 public class YoutubeQuotaTracker {
 
-    private static final int LIMIT = 10_000;
-    private static final int SEARCH_COST = 100;
+    static final String BUCKET = "youtube";
 
-    private final AtomicReference<LocalDate> lastDate = new AtomicReference<>(null);
-    private final AtomicInteger usedToday = new AtomicInteger(0);
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
 
-    /** 검색 1회 호출 시 사용 (100 단위). */
-    public void addSearchUsage() {
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-        lastDate.updateAndGet(d -> {
-            if (d == null || !d.equals(today)) {
-                usedToday.set(0);
-                return today;
+    /** API 메서드별 단위 비용 (https://developers.google.com/youtube/v3/determine_quota_cost) */
+    public enum Method {
+        SEARCH(100),
+        VIDEOS_LIST(1);
+
+        private final int cost;
+
+        Method(int cost) {
+            this.cost = cost;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+    }
+
+    /** 트래픽 등급. 위에 있을수록 우선 */
+    public enum TrafficClass {
+        /** 재료 추천 화면 (사용자가 기다림) */
+        INTERACTIVE,
+        /** 레시피 상세·영상 설명 */
+        DETAIL,
+        /** 백그라운드 미리 채우기 */
+        PREFETCH
+    }
+
+    private final QuotaLedger quotaLedger;
+    /** 날짜(Asia/Seoul) 판단용. 테스트에서 날짜 변경을 흉내 낼 수 있도록 주입 */
+    private final Clock clock;
+    private final AtomicLongArray shed = new AtomicLongArray(TrafficClass.values().length);
+
+    /** Google 기본 일일 할당량 (부하 테스트 프로필에서는 스텁이 403으로 한도를 흉내 내므로 크게) */
+    private final int dailyLimit;
+
+    /** 등급별로 일일 한도의 몇 %까지 쓸 수 있는지 */
+    private final double detailCeiling;
+    private final double prefetchCeiling;
+
+    @Autowired
+    public YoutubeQuotaTracker(QuotaLedger quotaLedger,
+                               @Value("${app.youtube.quota.daily-limit:10000}") int dailyLimit,
+                               @Value("${app.youtube.quota.detail-ceiling:0.9}") double detailCeiling,
+                               @Value("${app.youtube.quota.prefetch-ceiling:0.6}") double prefetchCeiling) {
+        this(quotaLedger, Clock.system(ZONE), dailyLimit, detailCeiling, prefetchCeiling);
+    }
+
+    YoutubeQuotaTracker(QuotaLedger quotaLedger, Clock clock, int dailyLimit, double detailCeiling, double prefetchCeiling) {
+        this.quotaLedger = quotaLedger;
+        this.clock = clock;
+        this.dailyLimit = dailyLimit;
+        this.detailCeiling = detailCeiling;
+        this.prefetchCeiling = prefetchCeiling;
+    }
+
+    /**
+     * 비용만큼 예약. 등급 상한을 넘으면 null (호출하지 말 것).
+     * 호출이 네트워크 오류로 Google에 닿지 못했으면 {@link #refund}.
+     */
+    public Reservation tryReserve(Method method, TrafficClass trafficClass) {
+        long today = today();
+        boolean reserved = quotaLedger.tryConsume(BUCKET, today, method.getCost(), ceiling(trafficClass));
+        if (!reserved) {
+            // 예약 도중 자정이 지나 장부가 이미 새 날로 넘어갔으면 새 날짜로 한 번 더
+            long now = today();
+            if (now != today) {
+                today = now;
+                reserved = quotaLedger.tryConsume(BUCKET, today, method.getCost(), ceiling(trafficClass));
             }
-            return d;
-        });
-        usedToday.addAndGet(SEARCH_COST);
+        }
+        if (!reserved) {
+            shed.incrementAndGet(trafficClass.ordinal());
+            return null;
+        }
+        return new Reservation(today, method.getCost(), method, trafficClass);
+    }
+
+    /** 예약 취소. 이미 날짜가 바뀌었으면 (새 날 사용량에서 빼지 않도록) 아무것도 안 함 */
+    public void refund(Reservation reservation) {
+        if (reservation == null) return;
+        quotaLedger.refund(BUCKET, reservation.epochDay(), reservation.cost());
     }
 
     public int getUsedToday() {
-        LocalDate today = LocalDate.now(ZoneId.of("Asia/Seoul"));
-        lastDate.updateAndGet(d -> {
-            if (d == null || !d.equals(today)) {
-                usedToday.set(0);
-                return today;
-            }
-            return d;
-        });
-        return usedToday.get();
+        return quotaLedger.used(BUCKET, today());
     }
 
     public int getLimit() {
-        return LIMIT;
+        return dailyLimit;
+    }
+
+    /** 등급별로 상한 때문에 거절된 호출 수 (기동 후 누적) */
+    public Map<TrafficClass, Long> getShedCounts() {
+        Map<TrafficClass, Long> counts = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass c : TrafficClass.values()) counts.put(c, shed.get(c.ordinal()));
+        return counts;
+    }
+
+    private int ceiling(TrafficClass trafficClass) {
+        return switch (trafficClass) {
+            case INTERACTIVE -> dailyLimit;
+            case DETAIL -> (int) (dailyLimit * detailCeiling);
+            case PREFETCH -> (int) (dailyLimit * prefetchCeiling);
+        };
+    }
+
+    private long today() {
+        return LocalDate.ofInstant(clock.instant(), ZONE).toEpochDay();
+    }
+
+    /** 예약 내역. refund에 그대로 넘김 */
+    public record Reservation(long epochDay, int cost, Method method, TrafficClass trafficClass) {
     }
 }
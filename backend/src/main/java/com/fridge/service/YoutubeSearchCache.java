@@ -0,0 +1,201 @@
+package com.fridge.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 재료 기반 유튜브 검색 결과 캐시. 검색 1회 = 100 단위(일 10,000)라 같은 조합은 다시 호출하지 않음.
+ * 키: 정규화한 재료명을 정렬·중복 제거한 집합 + strict 여부 ("양파 감자" == "감자 양파").
+ * TTL·최대 개수(LRU)로 제한하고, 로컬 파일에 저장해 머신이 멈췄다 다시 떠도 유지.
+ * 파일 저장은 요청 스레드에서 하지 않음: put은 버전만 올리고, 주기(flush-interval-ms)·종료 시 한 번에 씀.
+ */
+@Component
+public class YoutubeSearchCache {
+
+    private static final Logger log = LoggerFactory.getLogger(YoutubeSearchCache.class);
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    /** 파일 쓰기는 한 번에 하나. 이미 더 새 버전을 썼으면 건너뜀 */
+    private final Object fileLock = new Object();
+    /** put마다 1 증가 (this로 동기화) */
+    private long version;
+    /** 파일에 쓴 마지막 버전 (fileLock으로 동기화) */
+    private long writtenVersion;
+
+    @Value("${app.youtube.search-cache.max-entries:500}")
+    private int maxEntries;
+
+    @Value("${app.youtube.search-cache.ttl-hours:24}")
+    private long ttlHours;
+
+    /** 비우면 파일 저장 안 함 */
+    @Value("${app.youtube.search-cache.file:}")
+    private String file;
+
+    /** 접근 순서 LinkedHashMap = LRU. 모든 접근은 this로 동기화 */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    public YoutubeSearchCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void load() {
+        Path path = path();
+        if (path == null || !Files.isRegularFile(path)) return;
+        try {
+            List<Entry> loaded = objectMapper.readValue(path.toFile(), new TypeReference<List<Entry>>() {});
+            synchronized (this) {
+                for (Entry e : loaded) {
+                    if (e != null && e.key() != null) entries.put(e.key(), e);
+                }
+                trim();
+            }
+            log.info("유튜브 검색 캐시 로드: {}개 ({})", entries.size(), path);
+        } catch (IOException e) {
+            log.warn("유튜브 검색 캐시 파일을 읽지 못했습니다 ({}): {}", path, e.getMessage());
+        }
+    }
+
+    /** 재료명을 정규화 기준으로 정렬·중복 제거. 검색어도 이 순서로 만들어 같은 키는 같은 질의가 되게 함 */
+    public static List<String> canonicalNames(List<String> names) {
+        TreeMap<String, String> byKey = new TreeMap<>();
+        if (names != null) {
+            for (String n : names) {
+                String key = IngredientDictionary.normalize(n);
+                if (!key.isEmpty()) byKey.putIfAbsent(key, n.strip());
+            }
+        }
+        return new ArrayList<>(byKey.values());
+    }
+
+    public static String key(List<String> canonicalNames, boolean strictOnly) {
+        StringJoiner joiner = new StringJoiner(",", "", strictOnly ? "|strict" : "|diverse");
+        for (String n : canonicalNames) joiner.add(IngredientDictionary.normalize(n));
+        return joiner.toString();
+    }
+
+    public synchronized Optional<List<YouTubeService.YouTubeVideoResult>> get(String key) {
+        Entry e = entries.get(key);
+        if (e == null || isExpired(e, System.currentTimeMillis())) {
+            // 만료 항목은 지우지 않음: 할당량 소진 시 peekStale로 대체 결과 제공 (개수 상한으로만 밀려남)
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(e.toVideos());
+    }
+
+    /** 적중/미스 집계 없이 조회 */
+    public synchronized Optional<List<YouTubeService.YouTubeVideoResult>> peek(String key) {
+        Entry e = entries.get(key);
+        if (e == null || isExpired(e, System.currentTimeMillis())) return Optional.empty();
+        return Optional.of(e.toVideos());
+    }
+
+    /** TTL이 지났어도 남아 있으면 반환 (할당량 소진 시 대체용) */
+    public synchronized Optional<List<YouTubeService.YouTubeVideoResult>> peekStale(String key) {
+        Entry e = entries.get(key);
+        return e == null ? Optional.empty() : Optional.of(e.toVideos());
+    }
+
+    public void put(String key, List<YouTubeService.YouTubeVideoResult> videos) {
+        List<Video> stored = new ArrayList<>(videos.size());
+        for (YouTubeService.YouTubeVideoResult v : videos) stored.add(new Video(v.getVideoId(), v.getTitle()));
+        synchronized (this) {
+            entries.put(key, new Entry(key, List.copyOf(stored), System.currentTimeMillis()));
+            trim();
+            version++;
+        }
+    }
+
+    /** 바뀐 내용이 있으면 파일에 저장 (주기 실행 + 종료 시) */
+    @Scheduled(fixedDelayString = "${app.youtube.search-cache.flush-interval-ms:5000}",
+            initialDelayString = "${app.youtube.search-cache.flush-interval-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        Path path = path();
+        if (path == null) return;
+        List<Entry> snapshot;
+        long snapshotVersion;
+        synchronized (this) {
+            snapshotVersion = version;
+            snapshot = new ArrayList<>(entries.values());
+        }
+        synchronized (fileLock) {
+            // 동시에 flush하면 먼저 뜬 오래된 스냅샷이 나중에 쓰여 새 파일을 덮지 않도록
+            if (snapshotVersion <= writtenVersion) return;
+            if (writeFile(path, snapshot)) writtenVersion = snapshotVersion;
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private boolean isExpired(Entry e, long now) {
+        return now - e.storedAt() > Duration.ofHours(ttlHours).toMillis();
+    }
+
+    /** 임시 파일에 쓴 뒤 교체 (쓰는 도중 머신이 멈춰도 이전 파일은 온전). 실패하면 false → 다음 주기에 다시 */
+    private boolean writeFile(Path path, List<Entry> snapshot) {
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), snapshot);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            log.warn("유튜브 검색 캐시 저장 실패 ({}): {}", path, e.getMessage());
+            return false;
+        }
+    }
+
+    private Path path() {
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+
+    record Video(String videoId, String title) {
+    }
+
+    record Entry(String key, List<Video> videos, long storedAt) {
+        List<YouTubeService.YouTubeVideoResult> toVideos() {
+            List<YouTubeService.YouTubeVideoResult> list = new ArrayList<>(videos.size());
+            for (Video v : videos) list.add(new YouTubeService.YouTubeVideoResult(v.videoId(), v.title()));
+            return list;
+        }
+    }
+}
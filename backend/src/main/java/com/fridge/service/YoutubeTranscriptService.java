@@ -1,167 +1,169 @@
 package com.fridge.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fridge.dto.YoutubeRecipeStepsDto;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * 유튜브 영상 자막을 추출해 레시피 순서로 정리.
  * 자막이 없으면 영상 설명(description)에서 추출 시도.
  */
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class YoutubeTranscriptService {
 
     private static final Logger log = LoggerFactory.getLogger(YoutubeTranscriptService.class);
-    /** watch 페이지 HTML/JSON에서 captionTracks[0].baseUrl 추출 */
-    private static final Pattern CAPTION_TRACKS_PATTERN = Pattern.compile(
-            "\"captionTracks\":\\s*\\[\\s*\\{\\s*\"baseUrl\":\"([^\"]+)\""
-    );
     private static final int MAX_STEPS = 50;
     private static final int MIN_CHARS_PER_STEP = 15;
     /** 설명에서 번호·줄 단위로 잘라낼 때 최소 길이 */
     private static final int MIN_DESC_STEP_LENGTH = 10;
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final CloseableHttpClient outboundHttpClient;
     private final YouTubeService youTubeService;
+    private final OutboundResilience outboundResilience;
+    private final RecipeStepsCache recipeStepsCache;
+    /** 같은 영상을 동시에 여러 번 열어도 watch 페이지·자막은 한 번만 받음 */
+    private final SingleFlight<String, List<String>> stepsFlights = new SingleFlight<>();
+
+    /** watch 페이지 주소 (부하 테스트 프로필에서는 로컬 스텁). 자막 주소는 페이지에 들어 있는 값을 그대로 씀 */
+    @Value("${app.youtube.watch-base-url:https://www.youtube.com}")
+    private String watchBaseUrl;
 
     public YoutubeRecipeStepsDto getRecipeSteps(String videoId, String videoTitle) {
         if (videoId == null || videoId.isBlank()) return emptyResult(videoId, videoTitle);
         String cleanId = videoId.trim().replaceAll("[^a-zA-Z0-9_-]", "");
         if (cleanId.isEmpty()) return emptyResult(videoId, videoTitle);
 
+        RecipeStepsCache.Lookup cached = recipeStepsCache.lookup(cleanId);
+        List<String> steps = cached.hit()
+                ? cached.steps()
+                : stepsFlights.execute(cleanId, () -> extractSteps(cleanId, cached.captionBaseUrl()));
+        return YoutubeRecipeStepsDto.builder()
+                .videoId(cleanId)
+                .title(videoTitle != null ? videoTitle : "")
+                .steps(steps)
+                .build();
+    }
+
+    /**
+     * 자막 → 없으면 영상 설명 순으로 추출하고 캐시에 저장.
+     * watch 페이지·자막·영상 설명 중 하나라도 답을 못 받았으면(네트워크 오류, 할당량·차단으로 생략, 키 없음)
+     * 빈 결과는 저장하지 않음 (일시적인 실패를 negative로 TTL 동안 굳히지 않도록).
+     * cachedBaseUrl은 캐시 조회 때 함께 읽은 자막 baseUrl (없으면 null → watch 페이지 조회)
+     */
+    private List<String> extractSteps(String videoId, String cachedBaseUrl) {
         try {
-            String baseUrl = fetchCaptionBaseUrl(cleanId);
-            List<String> steps = new ArrayList<>();
+            // 빈 결과를 "정말 없음"으로 저장해도 되는지: 조회한 곳이 모두 실제로 응답했을 때만
+            boolean answered = true;
+            String baseUrl = cachedBaseUrl;
+            if (baseUrl == null) {
+                try {
+                    baseUrl = fetchCaptionBaseUrl(videoId);
+                } catch (Exception e) {
+                    log.debug("watch 페이지 조회 실패: {}", e.getMessage());
+                    answered = false;
+                }
+            }
+            List<String> steps = List.of();
             if (baseUrl != null && !baseUrl.isBlank()) {
                 baseUrl = baseUrl.replace("\\u0026", "&").replace("\\/", "/");
-                List<String> rawLines = fetchTranscriptLines(baseUrl);
-                if (!rawLines.isEmpty()) steps = organizeIntoSteps(rawLines);
+                try {
+                    steps = fetchTranscriptSteps(baseUrl);
+                } catch (Exception e) {
+                    log.debug("자막 본문 조회 실패: {}", e.getMessage());
+                    recipeStepsCache.putCaptionBaseUrl(videoId, baseUrl);
+                    answered = false;
+                }
             }
             if (steps.isEmpty()) {
-                String description = youTubeService != null ? youTubeService.getVideoDescription(cleanId) : null;
+                YouTubeService.DescriptionLookup lookup = youTubeService != null
+                        ? youTubeService.lookupVideoDescription(videoId) : YouTubeService.DescriptionLookup.NOT_ANSWERED;
+                if (!lookup.answered()) answered = false;
+                String description = lookup.description();
                 if (description != null && !description.isBlank()) {
-                    steps = parseDescriptionIntoSteps(description);
-                    if (!steps.isEmpty()) log.debug("자막 없음, 영상 설명으로 레시피 추출: videoId={}", cleanId);
+                    steps = DescriptionStepParser.parse(description, MAX_STEPS, MIN_DESC_STEP_LENGTH);
+                    if (!steps.isEmpty()) log.debug("자막 없음, 영상 설명으로 레시피 추출: videoId={}", videoId);
                 }
             }
-            return YoutubeRecipeStepsDto.builder()
-                    .videoId(cleanId)
-                    .title(videoTitle != null ? videoTitle : "")
-                    .steps(steps)
-                    .build();
+            if (answered || !steps.isEmpty()) recipeStepsCache.putSteps(videoId, steps, baseUrl);
+            return steps;
         } catch (Exception e) {
-            log.warn("레시피 추출 실패 videoId={}: {}", cleanId, e.getMessage());
-            return emptyResult(cleanId, videoTitle);
+            log.warn("레시피 추출 실패 videoId={}: {}", videoId, e.getMessage());
+            return List.of();
         }
     }
 
+    /** watch 페이지에서 자막 baseUrl 추출. 자막이 없으면 null, 네트워크·HTTP 오류는 예외 */
     private String fetchCaptionBaseUrl(String videoId) {
-        try {
-            String url = "https://www.youtube.com/watch?v=" + videoId;
-            HttpHeaders headers = new HttpHeaders();
-            headers.setAccept(List.of(MediaType.TEXT_HTML));
-            headers.set("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-            ResponseEntity<String> res = restTemplate.exchange(
-                    URI.create(url),
-                    HttpMethod.GET,
-                    new HttpEntity<>(headers),
-                    String.class
-            );
-            String html = res.getBody();
-            if (html == null || html.isBlank()) return null;
-
-            Matcher m = CAPTION_TRACKS_PATTERN.matcher(html);
-            if (m.find()) return m.group(1);
-            return null;
-        } catch (Exception e) {
-            log.debug("watch 페이지 조회 실패: {}", e.getMessage());
-            return null;
-        }
+        URI uri = URI.create(watchBaseUrl + "/watch?v=" + videoId);
+        return outboundResilience.callHedged(OutboundResilience.YOUTUBE_WATCH, () -> scanWatchPage(uri));
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> fetchTranscriptLines(String baseUrl) {
-        try {
-            String url = baseUrl.contains("?") ? baseUrl + "&fmt=json3" : baseUrl + "?fmt=json3";
-            Map<String, Object> body = restTemplate.getForObject(url, Map.class);
-            if (body == null) return List.of();
-            Object eventsObj = body.get("events");
-            if (!(eventsObj instanceof List)) return List.of();
-            List<String> lines = new ArrayList<>();
-            for (Object ev : (List<?>) eventsObj) {
-                if (!(ev instanceof Map)) continue;
-                Map<String, Object> event = (Map<String, Object>) ev;
-                Object segsObj = event.get("segs");
-                if (!(segsObj instanceof List)) continue;
-                StringBuilder line = new StringBuilder();
-                for (Object s : (List<?>) segsObj) {
-                    if (!(s instanceof Map)) continue;
-                    String utf8 = (String) ((Map<String, Object>) s).get("utf8");
-                    if (utf8 != null && !utf8.isBlank() && !"\n".equals(utf8)) {
-                        line.append(utf8.trim());
-                    }
-                }
-                if (line.length() > 0) lines.add(line.toString());
+    /**
+     * 본문을 스트림으로 읽다가 captionTracks를 찾으면 요청을 취소해 나머지 본문은 받지 않음.
+     * (RestTemplate은 응답을 닫을 때 남은 본문을 끝까지 읽어 연결을 재사용하므로 HttpClient를 직접 사용)
+     */
+    private String scanWatchPage(URI uri) {
+        HttpGet get = new HttpGet(uri);
+        get.setHeader(HttpHeaders.ACCEPT, MediaType.TEXT_HTML_VALUE);
+        get.setHeader(HttpHeaders.USER_AGENT, "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+        // 취소한 뒤 스트림·응답을 닫다가 예외가 나도 이미 찾은 baseUrl은 살림
+        CaptionTrackScanner.Result result = null;
+        try (ClassicHttpResponse res = outboundHttpClient.executeOpen(null, get, null)) {
+            int status = res.getCode();
+            if (status >= 400) {
+                get.cancel();
+                HttpStatusCode code = HttpStatusCode.valueOf(status);
+                if (code.is5xxServerError()) throw HttpServerErrorException.create(code, res.getReasonPhrase(), null, null, null);
+                throw HttpClientErrorException.create(code, res.getReasonPhrase(), null, null, null);
             }
-            return lines;
-        } catch (Exception e) {
-            log.debug("자막 본문 조회 실패: {}", e.getMessage());
-            return List.of();
-        }
-    }
-
-    private List<String> organizeIntoSteps(List<String> rawLines) {
-        List<String> merged = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        for (String line : rawLines) {
-            String t = line.trim();
-            if (t.isEmpty()) continue;
-            if (current.length() > 0) current.append(" ");
-            current.append(t);
-            if (current.length() >= MIN_CHARS_PER_STEP || t.endsWith(".") || t.endsWith("요") || t.endsWith("다")) {
-                merged.add(current.toString().trim());
-                current.setLength(0);
+            if (res.getEntity() == null) return null;
+            try (InputStream in = res.getEntity().getContent()) {
+                result = CaptionTrackScanner.scan(in);
+                // 찾았으면 남은 본문을 읽지 않고 연결을 버림 (닫기 전에 취소해야 drain 안 함)
+                if (result.baseUrl() != null) get.cancel();
             }
+            log.debug("watch 페이지 {} bytes 읽음, 자막 {} (videoId 페이지: {})",
+                    result.bytesRead(), result.baseUrl() != null ? "있음" : "없음", uri);
+            return result.baseUrl();
+        } catch (IOException e) {
+            if (result != null && result.baseUrl() != null) return result.baseUrl();
+            if (get.isCancelled()) return null;
+            throw new ResourceAccessException("watch 페이지 조회 실패: " + e.getMessage(), e);
         }
-        if (current.length() > 0) merged.add(current.toString().trim());
-
-        return merged.stream()
-                .filter(s -> s.length() >= 5)
-                .limit(MAX_STEPS)
-                .collect(Collectors.toList());
     }
 
-    /** 영상 설명(description)을 번호·줄 단위로 잘라 레시피 단계로 변환 */
-    private List<String> parseDescriptionIntoSteps(String description) {
-        if (description == null || description.isBlank()) return List.of();
-        String normalized = description.replace("\r\n", "\n").replace("\r", "\n").trim();
-        List<String> steps = new ArrayList<>();
-        for (String line : normalized.split("\n")) {
-            String t = line.replaceAll("^[\\d]+[.)\\s]+", "").trim();
-            if (t.length() >= MIN_DESC_STEP_LENGTH && !t.matches("^https?://.*") && !t.startsWith("http")) {
-                steps.add(t);
-            }
-        }
-        if (steps.isEmpty() && normalized.length() >= MIN_DESC_STEP_LENGTH) {
-            String[] byNumber = normalized.split("\\s*[\\d]+[.)]\\s*");
-            for (String s : byNumber) {
-                String t = s.trim();
-                if (t.length() >= MIN_DESC_STEP_LENGTH && !t.startsWith("http")) steps.add(t);
-            }
-        }
-        return steps.stream().limit(MAX_STEPS).collect(Collectors.toList());
+    /** json3 자막을 스트림으로 읽으며 바로 단계로 묶음 (응답 전체를 Map 트리로 만들지 않음) */
+    private List<String> fetchTranscriptSteps(String baseUrl) {
+        String url = baseUrl.contains("?") ? baseUrl + "&fmt=json3" : baseUrl + "?fmt=json3";
+        return outboundResilience.callHedged(OutboundResilience.YOUTUBE_TIMEDTEXT,
+                () -> restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                    TranscriptStepOrganizer organizer = new TranscriptStepOrganizer(MAX_STEPS, MIN_CHARS_PER_STEP);
+                    Json3TranscriptReader.read(objectMapper.getFactory(), response.getBody(), organizer);
+                    return organizer.finish();
+                }));
     }
 
     private YoutubeRecipeStepsDto emptyResult(String videoId, String title) {
@@ -0,0 +1,37 @@
+package com.fridge.web;
+
+import com.fridge.config.StartupReadiness;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 카탈로그가 준비될 때까지 /api 요청을 최대 ready-wait-ms 동안 붙잡아 둠. 그래도 안 되면 503 + Retry-After.
+ * (머신이 첫 요청으로 깨어날 때 빈 카탈로그로 답하지 않도록)
+ */
+@Component
+public class ReadinessInterceptor implements HandlerInterceptor {
+
+    private final StartupReadiness startupReadiness;
+
+    @Value("${app.startup.ready-wait-ms:10000}")
+    private long readyWaitMs;
+
+    public ReadinessInterceptor(StartupReadiness startupReadiness) {
+        this.startupReadiness = startupReadiness;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (startupReadiness.isReady() || CorsUtils.isPreFlightRequest(request)) return true;
+        if (startupReadiness.awaitReady(readyWaitMs)) return true;
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "2");
+        return false;
+    }
+}
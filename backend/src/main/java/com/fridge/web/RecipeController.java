@@ -1,23 +1,39 @@
 package com.fridge.web;
 
+import com.fridge.config.MeteredConnectionManager;
+import com.fridge.config.StartupReadiness;
+import com.fridge.config.StartupTimeline;
 import com.fridge.dto.IngredientDto;
+import com.fridge.dto.OutboundStatsDto;
 import com.fridge.dto.RecipeDetailDto;
 import com.fridge.dto.RecipeDto;
 import com.fridge.dto.RecommendRequest;
 import com.fridge.dto.RecommendResponse;
+import com.fridge.dto.StartupStatusDto;
 import com.fridge.dto.YoutubeQuotaDto;
 import com.fridge.dto.YoutubeRecipeStepsDto;
-import com.fridge.entity.Ingredient;
-import com.fridge.repository.IngredientRepository;
+import com.fridge.service.CatalogVersion;
+import com.fridge.service.IngredientListPayload;
+import com.fridge.service.IngredientSuggestIndex;
+import com.fridge.service.OutboundResilience;
 import com.fridge.service.RecipeDetailService;
 import com.fridge.service.RecipeRecommendService;
+import com.fridge.service.RecipeStepsCache;
 import com.fridge.service.YoutubeQuotaTracker;
+import com.fridge.service.YoutubeSearchCache;
 import com.fridge.service.YoutubeTranscriptService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,23 +41,70 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class RecipeController {
 
-    private final IngredientRepository ingredientRepository;
+    /** 카탈로그는 배포(재기동) 때만 바뀜. 만료 후엔 ETag로 재검증해 304 */
+    private static final CacheControl CATALOG_CACHE = CacheControl.maxAge(Duration.ofMinutes(10)).cachePublic();
+    /** 상세는 대표 영상이 나중에 채워질 수 있어 짧게 */
+    private static final CacheControl DETAIL_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+    /** 외부(Spoonacular) 상세: 서버 캐시 TTL보다 짧게, ETag 없음 */
+    private static final CacheControl EXTERNAL_DETAIL_CACHE = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+    private static final CacheControl SUGGEST_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    /** 영상별 레시피 순서는 서버 디스크 캐시에 30일 보관 */
+    private static final CacheControl STEPS_CACHE = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+    /** 단계 없음(자막·설명 조회 실패 포함)은 곧 다시 시도할 수 있게 캐시에 두지 않음 */
+    private static final CacheControl EMPTY_STEPS_CACHE = CacheControl.noCache();
+
+    private final IngredientListPayload ingredientListPayload;
+    private final CatalogVersion catalogVersion;
+    private final IngredientSuggestIndex ingredientSuggestIndex;
     private final RecipeRecommendService recipeRecommendService;
     private final RecipeDetailService recipeDetailService;
+    @Lazy
     private final YoutubeTranscriptService youtubeTranscriptService;
     private final YoutubeQuotaTracker youtubeQuotaTracker;
+    private final YoutubeSearchCache youtubeSearchCache;
+    @Lazy
+    private final MeteredConnectionManager httpConnectionManager;
+    private final OutboundResilience outboundResilience;
+    private final RecipeStepsCache recipeStepsCache;
+    private final StartupReadiness startupReadiness;
+    private final StartupTimeline startupTimeline;
 
+    /**
+     * 전체 재료 목록. 미리 직렬화·압축한 바이트를 그대로 내려줌 (gzip 받는 클라이언트엔 압축본).
+     * If-None-Match가 카탈로그 버전 ETag와 같으면 304. ETag는 압축본·원본이 서로 다름 (Vary: Accept-Encoding).
+     */
     @GetMapping(value = "/ingredients", produces = "application/json;charset=UTF-8")
-    public ResponseEntity<List<IngredientDto>> listIngredients() {
-        List<Ingredient> all = ingredientRepository.findAllByOrderByNameAsc();
-        List<IngredientDto> dtos = all.stream()
+    public ResponseEntity<byte[]> listIngredients(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest
+    ) {
+        IngredientListPayload.Payload payload = ingredientListPayload.current();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? payload.gzipEtag() : payload.etag();
+        if (webRequest.checkNotModified(etag)) return null;
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CATALOG_CACHE)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        // Content-Encoding이 있으면 서블릿 컨테이너가 다시 압축하지 않음
+        if (gzip) return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip());
+        return ok.body(payload.json());
+    }
+
+    /** 재료 자동완성. 초성("ㄷㅈ")·입력 중인 글자("돼지고")도 매칭, 레시피에 많이 쓰인 재료 먼저 */
+    @GetMapping(value = "/ingredients/suggest", produces = "application/json;charset=UTF-8")
+    public ResponseEntity<List<IngredientDto>> suggestIngredients(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<IngredientDto> dtos = ingredientSuggestIndex.suggest(q, Math.min(Math.max(limit, 1), 50)).stream()
                 .map(i -> IngredientDto.builder()
                         .id(i.getId())
                         .name(i.getName())
                         .category(i.getCategory())
                         .build())
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok().cacheControl(SUGGEST_CACHE).body(dtos);
     }
 
     @PostMapping(value = "/recipes/recommend", produces = "application/json;charset=UTF-8")
@@ -52,23 +115,60 @@ public class RecipeController {
         RecommendResponse result = recipeRecommendService.recommendByIngredients(
                 request.getIngredientIds(),
                 request.getIngredientNames(),
-                request.getStrictOnly()
+                request.getStrictOnly(),
+                request.getMaxMissing()
         );
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(result);
     }
 
+    /** 내부 레시피는 카탈로그 버전·id·대표 영상으로 ETag (영상이 채워지면 바뀜). 외부(음수 id)는 max-age만 */
     @GetMapping(value = "/recipes/{id}/detail", produces = "application/json;charset=UTF-8")
-    public ResponseEntity<RecipeDetailDto> recipeDetail(@PathVariable Long id) {
+    public ResponseEntity<RecipeDetailDto> recipeDetail(@PathVariable Long id, WebRequest webRequest) {
         RecipeDetailDto dto = recipeDetailService.getDetail(id);
         if (dto == null) return ResponseEntity.notFound().build();
-        return ResponseEntity.ok(dto);
+        if (id < 0) return ResponseEntity.ok().cacheControl(EXTERNAL_DETAIL_CACHE).body(dto);
+        String etag = catalogVersion.etag("r" + id + "-" + (dto.getYoutubeVideoId() != null ? dto.getYoutubeVideoId() : "none"));
+        if (webRequest.checkNotModified(etag)) return null;
+        return ResponseEntity.ok().eTag(etag).cacheControl(DETAIL_CACHE).body(dto);
+    }
+
+    /** 기동 준비 상태·단계별 시간. 준비 전이면 503 */
+    @GetMapping(value = "/ready", produces = "application/json;charset=UTF-8")
+    public ResponseEntity<StartupStatusDto> ready() {
+        StartupStatusDto body = StartupStatusDto.builder()
+                .state(startupReadiness.state().name())
+                .phases(startupTimeline.phases())
+                .build();
+        return ResponseEntity.status(startupReadiness.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
     }
 
     @GetMapping(value = "/youtube-quota", produces = "application/json;charset=UTF-8")
     public ResponseEntity<YoutubeQuotaDto> youtubeQuota() {
         int used = youtubeQuotaTracker.getUsedToday();
         int limit = youtubeQuotaTracker.getLimit();
-        return ResponseEntity.ok(YoutubeQuotaDto.builder().usedToday(used).limit(limit).build());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(YoutubeQuotaDto.builder()
+                .usedToday(used)
+                .limit(limit)
+                .shedCounts(youtubeQuotaTracker.getShedCounts().entrySet().stream()
+                        .collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue)))
+                .searchCacheHits(youtubeSearchCache.getHits())
+                .searchCacheMisses(youtubeSearchCache.getMisses())
+                .searchCacheSize(youtubeSearchCache.size())
+                .build());
+    }
+
+    @GetMapping(value = "/outbound-stats", produces = "application/json;charset=UTF-8")
+    public ResponseEntity<OutboundStatsDto> outboundStats() {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(OutboundStatsDto.builder()
+                .httpPool(httpConnectionManager.snapshot())
+                .breakers(outboundResilience.snapshot())
+                .stepsCacheHits(recipeStepsCache.getHits())
+                .stepsCacheNegativeHits(recipeStepsCache.getNegativeHits())
+                .stepsCacheMisses(recipeStepsCache.getMisses())
+                .stepsCacheBytes(recipeStepsCache.getTotalBytes())
+                .build());
     }
 
     @GetMapping(value = "/youtube/{videoId}/recipe-steps", produces = "application/json;charset=UTF-8")
@@ -77,6 +177,22 @@ public class RecipeController {
             @RequestParam(required = false) String title
     ) {
         YoutubeRecipeStepsDto dto = youtubeTranscriptService.getRecipeSteps(videoId, title);
-        return ResponseEntity.ok(dto);
+        boolean empty = dto.getSteps() == null || dto.getSteps().isEmpty();
+        return ResponseEntity.ok().cacheControl(empty ? EMPTY_STEPS_CACHE : STEPS_CACHE).body(dto);
+    }
+
+    /** "gzip" 또는 "gzip;q=0.5" 등 (q=0은 거부) */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase("gzip")) continue;
+            for (int i = 1; i < tokens.length; i++) {
+                String t = tokens[i].trim().replace(" ", "");
+                if (t.equals("q=0") || t.matches("q=0\\.0*")) return false;
+            }
+            return true;
+        }
+        return false;
     }
 }
@@ -29,3 +29,19 @@ CREATE TABLE IF NOT EXISTS recipe_steps (
     step_text VARCHAR(500) NOT NULL,
     FOREIGN KEY (recipe_id) REFERENCES recipes(id)
 );
+
+-- 레시피 → 재료, 재료 → 레시피, 레시피 → 순서(step_order 순). FK마다 H2가 단일 열 인덱스를 따로 만들지만
+-- 복합 인덱스는 (recipe_id, ingredient_id) 쌍만 읽는 조회를 테이블 행 없이 처리하고 순서를 정렬된 채로 읽음.
+-- 실행 계획 검사: src/test RepositoryQueryPlanTest (mvn test)
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_recipe ON recipe_ingredients (recipe_id, ingredient_id);
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredients_ingredient ON recipe_ingredients (ingredient_id, recipe_id);
+CREATE INDEX IF NOT EXISTS idx_recipe_steps_recipe ON recipe_steps (recipe_id, step_order);
+
+-- 레시피별 대표 유튜브 영상 (백그라운드로 미리 채움). video_id가 NULL이면 검색했지만 영상 없음
+-- recipe_id는 가상 카탈로그 레시피(recipes에 행 없음)일 수 있어 FK 없음
+CREATE TABLE IF NOT EXISTS recipe_videos (
+    recipe_id  BIGINT PRIMARY KEY,
+    video_id   VARCHAR(32),
+    title      VARCHAR(500),
+    fetched_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,146 @@
+package com.fridge.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 저장소 메서드가 실제로 보내는 SQL(Hibernate가 만든 것, StatementInspector로 가로챔)을 H2 EXPLAIN으로 돌려
+ * 전체 스캔(tableScan)이 없는지, schema.sql 복합 인덱스를 쓰는지 확인. 쿼리·엔티티·인덱스가 바뀌면 여기서 깨짐.
+ * (엔티티 전체를 읽는 조회는 H2가 같은 비용의 FK 인덱스를 고를 수 있어 인덱스 이름은 보지 않음)
+ * <p>
+ * 대상: RecipeIngredientRepository.findAllByRecipeId / findAllByRecipeIdIn / findAllRecipeIngredientPairs,
+ * RecipeStepRepository.findAllByRecipeIdOrderByStepOrderAsc, RecipeRepository.findDetailRows,
+ * RecipeVideoRepository.findRecipesNeedingVideo.
+ * 재료 매칭 쿼리(findRecipesByAvailableIngredients, findRecipesUsingAnyIngredient)는 없어지고
+ * 메모리 RecipeIngredientIndex로 옮겨졌으므로, 그 색인을 만드는 findAllRecipeIngredientPairs를 대신 확인
+ */
+@DataJpaTest
+@Import(RepositoryQueryPlanTest.CaptureSql.class)
+@Sql(scripts = "classpath:data.sql", config = @SqlConfig(encoding = "UTF-8"), executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+class RepositoryQueryPlanTest {
+
+    private static final String TABLE_SCAN = ".tableScan";
+
+    @Autowired
+    private RecipeIngredientRepository recipeIngredientRepository;
+    @Autowired
+    private RecipeStepRepository recipeStepRepository;
+    @Autowired
+    private RecipeRepository recipeRepository;
+    @Autowired
+    private RecipeVideoRepository recipeVideoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CapturingInspector inspector;
+
+    @BeforeEach
+    void clear() {
+        inspector.clear();
+    }
+
+    @Test
+    void findAllByRecipeIdUsesIndex() {
+        recipeIngredientRepository.findAllByRecipeId(1L);
+        assertNoTableScan(explain(inspector.single(), 1L));
+    }
+
+    @Test
+    void findAllByRecipeIdInUsesIndex() {
+        recipeIngredientRepository.findAllByRecipeIdIn(List.of(1L, 2L, 3L));
+        assertNoTableScan(explain(inspector.single(), 1L, 2L, 3L));
+    }
+
+    @Test
+    void findAllByRecipeIdOrderByStepOrderAscUsesIndex() {
+        recipeStepRepository.findAllByRecipeIdOrderByStepOrderAsc(1L);
+        assertNoTableScan(explain(inspector.single(), 1L));
+    }
+
+    @Test
+    void findDetailRowsUsesIndexForEveryBranch() {
+        recipeRepository.findDetailRows(1L);
+        assertNoTableScan(explain(inspector.single(), 1L, 1L, 1L));
+    }
+
+    @Test
+    void recipeIngredientPairsReadOnlyCompositeIndex() {
+        recipeIngredientRepository.findAllRecipeIngredientPairs();
+        // 조건 없이 전부 읽지만 (recipe_id, ingredient_id) 인덱스만으로 답함 (테이블 행을 읽지 않음)
+        String plan = explain(inspector.single());
+        assertThat(plan).containsAnyOf("IDX_RECIPE_INGREDIENTS_RECIPE", "IDX_RECIPE_INGREDIENTS_INGREDIENT");
+        assertNoTableScan(plan);
+    }
+
+    @Test
+    void recipesNeedingVideoProbesVideoByPrimaryKey() {
+        recipeVideoRepository.findRecipesNeedingVideo(Instant.parse("2026-01-01T00:00:00Z"), PageRequest.of(0, 20));
+        String plan = explain(inspector.single(), Instant.parse("2026-01-01T00:00:00Z"), 20);
+        // 레시피는 id 순으로 모두 훑지만(기본 키), 영상은 레시피마다 기본 키로 찾음
+        assertThat(plan).doesNotContain("RECIPE_VIDEOS" + TABLE_SCAN);
+    }
+
+    private String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    private static void assertNoTableScan(String plan) {
+        assertThat(plan).as("실행 계획").doesNotContain(TABLE_SCAN);
+    }
+
+    /** 세션 팩토리에 가로채기를 붙임 (SQL은 그대로 통과) */
+    @TestConfiguration
+    static class CaptureSql {
+
+        @Bean
+        CapturingInspector capturingInspector() {
+            return new CapturingInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(CapturingInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    static class CapturingInspector implements StatementInspector {
+
+        private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        void clear() {
+            statements.clear();
+        }
+
+        /** 저장소 메서드 하나가 보낸 SELECT 한 문장 */
+        String single() {
+            List<String> selects = statements.stream().filter(s -> s.trim().toLowerCase().startsWith("select")).toList();
+            assertThat(selects).as("가로챈 SQL").hasSize(1);
+            return selects.get(0);
+        }
+    }
+}
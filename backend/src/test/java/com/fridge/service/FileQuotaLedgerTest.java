@@ -0,0 +1,29 @@
+package com.fridge.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 임시 파일 하나를 여러 장부가 같이 엶 (같은 볼륨의 여러 프로세스 흉내) */
+class FileQuotaLedgerTest extends QuotaLedgerContractTest {
+
+    @TempDir
+    Path dir;
+
+    @Override
+    QuotaLedger newLedger() {
+        return new FileQuotaLedger(dir.resolve("quota-ledger.dat"));
+    }
+
+    @Test
+    void usageSurvivesReopen() {
+        ledger.tryConsume(BUCKET, DAY1, 123, 1_000);
+        ledger.close();
+        QuotaLedger reopened = open();
+        assertThat(reopened.used(BUCKET, DAY1)).isEqualTo(123);
+        assertThat(reopened.tryConsume(BUCKET, DAY1, 900, 1_000)).isFalse();
+    }
+}
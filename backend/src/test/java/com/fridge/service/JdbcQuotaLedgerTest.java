@@ -0,0 +1,27 @@
+package com.fridge.service;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+
+import java.util.UUID;
+
+/** 테스트마다 새 H2 메모리 DB. 장부 여러 개가 같은 DB를 봄 (여러 인스턴스 흉내) */
+class JdbcQuotaLedgerTest extends QuotaLedgerContractTest {
+
+    private String url;
+
+    @BeforeEach
+    @Override
+    void openLedger() {
+        url = "jdbc:h2:mem:quota-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        super.openLedger();
+    }
+
+    @Override
+    QuotaLedger newLedger() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        dataSource.setUser("sa");
+        return new JdbcQuotaLedger(dataSource);
+    }
+}
@@ -0,0 +1,120 @@
+package com.fridge.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * QuotaLedger 구현이 공통으로 지켜야 할 규칙: 예약·상한·환불·날짜 변경, 같은 저장소를 보는 두 장부가 한 예산을 공유.
+ * 구현별 테스트는 newLedger()만 채움.
+ */
+abstract class QuotaLedgerContractTest {
+
+    static final String BUCKET = "youtube";
+    static final long DAY1 = 20_000;
+    static final long DAY2 = DAY1 + 1;
+
+    private final List<QuotaLedger> opened = new ArrayList<>();
+    QuotaLedger ledger;
+
+    /** 같은 저장소(파일·DB)를 보는 새 장부. 부를 때마다 새 인스턴스 (다른 프로세스·인스턴스 흉내) */
+    abstract QuotaLedger newLedger();
+
+    @BeforeEach
+    void openLedger() {
+        ledger = open();
+    }
+
+    @AfterEach
+    void closeLedgers() {
+        opened.forEach(QuotaLedger::close);
+    }
+
+    QuotaLedger open() {
+        QuotaLedger l = newLedger();
+        opened.add(l);
+        return l;
+    }
+
+    @Test
+    void consumesUpToCeilingAndNoFurther() {
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 100, 250)).isTrue();
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 100, 250)).isTrue();
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 100, 250)).isFalse();
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 50, 250)).isTrue();
+        assertThat(ledger.used(BUCKET, DAY1)).isEqualTo(250);
+        // 첫 호출부터 상한보다 크면 기록하지 않음
+        assertThat(ledger.tryConsume("other", DAY1, 10, 5)).isFalse();
+        assertThat(ledger.used("other", DAY1)).isZero();
+    }
+
+    @Test
+    void refundRestoresBudgetAndStopsAtZero() {
+        ledger.tryConsume(BUCKET, DAY1, 100, 100);
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 1, 100)).isFalse();
+        ledger.refund(BUCKET, DAY1, 40);
+        assertThat(ledger.used(BUCKET, DAY1)).isEqualTo(60);
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 40, 100)).isTrue();
+        ledger.refund(BUCKET, DAY1, 500);
+        assertThat(ledger.used(BUCKET, DAY1)).isZero();
+        // 기록 없는 버킷 환불은 무시
+        ledger.refund("missing", DAY1, 10);
+        assertThat(ledger.used("missing", DAY1)).isZero();
+    }
+
+    @Test
+    void newDayStartsFromZeroAndOldDayRefundIsIgnored() {
+        ledger.tryConsume(BUCKET, DAY1, 100, 100);
+        assertThat(ledger.used(BUCKET, DAY2)).isZero();
+        assertThat(ledger.tryConsume(BUCKET, DAY2, 70, 100)).isTrue();
+        ledger.refund(BUCKET, DAY1, 100);
+        assertThat(ledger.used(BUCKET, DAY2)).isEqualTo(70);
+    }
+
+    @Test
+    void staleDayConsumeDoesNotTouchNewDay() {
+        assertThat(ledger.tryConsume(BUCKET, DAY2, 100, 1_000)).isTrue();
+        assertThat(ledger.tryConsume(BUCKET, DAY1, 1, 1_000)).isFalse();
+        assertThat(ledger.used(BUCKET, DAY2)).isEqualTo(100);
+        assertThat(ledger.tryConsume(BUCKET, DAY2, 1, 1_000)).isTrue();
+        assertThat(ledger.used(BUCKET, DAY2)).isEqualTo(101);
+    }
+
+    @Test
+    void twoLedgersOnSameStoreShareOneBudget() throws InterruptedException {
+        QuotaLedger other = open();
+        LongAdder admitted = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            QuotaLedger l = t % 2 == 0 ? ledger : other;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int n = 0; n < 100; n++) {
+                        if (l.tryConsume(BUCKET, DAY1, 1, 500)) admitted.increment();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+        assertThat(failure.get()).isNull();
+        assertThat(admitted.sum()).isEqualTo(500);
+        assertThat(ledger.used(BUCKET, DAY1)).isEqualTo(500);
+        assertThat(other.used(BUCKET, DAY1)).isEqualTo(500);
+    }
+}
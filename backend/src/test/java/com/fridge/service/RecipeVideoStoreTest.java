@@ -0,0 +1,67 @@
+package com.fridge.service;
+
+import com.fridge.entity.RecipeVideo;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/** 영상 덮어쓰기, 조회 수 누적·순서, 많이 본 것만 남기기. 같은 DB를 다시 열어도 남는지 */
+class RecipeVideoStoreTest {
+
+    private JdbcDataSource dataSource;
+    private RecipeVideoStore store;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:videos-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        store = new RecipeVideoStore(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void savedVideosSurviveReopenAndLatestWins() {
+        Instant fetched = Instant.parse("2026-03-01T18:00:00Z");
+        store.saveVideo(new RecipeVideo(1L, "old", "이전", fetched));
+        store.saveVideo(new RecipeVideo(1L, "new", "새 영상", fetched.plus(1, ChronoUnit.DAYS)));
+        store.saveVideo(new RecipeVideo(2L, null, null, fetched));
+
+        RecipeVideoStore reopened = new RecipeVideoStore(dataSource);
+        assertThat(reopened.findAllVideos())
+                .extracting(RecipeVideo::getRecipeId, RecipeVideo::getVideoId, RecipeVideo::getTitle, RecipeVideo::getFetchedAt)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, "new", "새 영상", fetched.plus(1, ChronoUnit.DAYS)),
+                        tuple(2L, null, null, fetched));
+    }
+
+    @Test
+    void viewsAccumulateAndOrderByCount() {
+        store.addViews(Map.of(1L, 3L, 2L, 5L));
+        store.addViews(Map.of(1L, 4L, 3L, 1L));
+        assertThat(store.mostViewed(10)).containsExactly(1L, 2L, 3L);
+        assertThat(store.mostViewed(1)).containsExactly(1L);
+    }
+
+    @Test
+    void trimKeepsOnlyMostViewed() {
+        store.addViews(Map.of(1L, 10L, 2L, 20L, 3L, 30L, 4L, 40L));
+        store.trimViews(2);
+        assertThat(store.mostViewed(10)).containsExactly(4L, 3L);
+        store.trimViews(5);
+        assertThat(store.mostViewed(10)).containsExactly(4L, 3L);
+    }
+}
@@ -0,0 +1,293 @@
+package com.fridge.service;
+
+import com.fridge.service.YoutubeQuotaTracker.Method;
+import com.fridge.service.YoutubeQuotaTracker.Reservation;
+import com.fridge.service.YoutubeQuotaTracker.TrafficClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 동시에 예약·환불할 때 등급별 상한, 환불 계산, 날짜 변경(Asia/Seoul 0시) 시 초기화 확인.
+ * 한도 10,000 / 상세 90% / 미리 채우기 60% (운영 기본값).
+ */
+class YoutubeQuotaTrackerTest {
+
+    private static final ZoneId SEOUL = ZoneId.of("Asia/Seoul");
+    private static final int LIMIT = 10_000;
+    private static final int DETAIL_CEILING = 9_000;
+    private static final int PREFETCH_CEILING = 6_000;
+    private static final int THREADS = 16;
+
+    private MutableClock clock;
+    private YoutubeQuotaTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(ZonedDateTime.of(2026, 3, 1, 12, 0, 0, 0, SEOUL).toInstant());
+        tracker = new YoutubeQuotaTracker(new InMemoryQuotaLedger(), clock, LIMIT, 0.9, 0.6);
+    }
+
+    @Test
+    void concurrentReservationsNeverExceedClassCeilings() throws InterruptedException {
+        Map<TrafficClass, LongAdder> admitted = new EnumMap<>(TrafficClass.class);
+        Map<TrafficClass, LongAdder> refused = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass c : TrafficClass.values()) {
+            admitted.put(c, new LongAdder());
+            refused.put(c, new LongAdder());
+        }
+
+        // 세 등급이 섞여서 동시에 요청 (수요 합계가 한도의 몇 배)
+        runConcurrently(i -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int n = 0; n < 2_000; n++) {
+                TrafficClass c = TrafficClass.values()[random.nextInt(TrafficClass.values().length)];
+                Method m = random.nextBoolean() ? Method.SEARCH : Method.VIDEOS_LIST;
+                if (tracker.tryReserve(m, c) != null) {
+                    admitted.get(c).add(m.getCost());
+                } else {
+                    refused.get(c).increment();
+                }
+            }
+        });
+
+        long prefetch = admitted.get(TrafficClass.PREFETCH).sum();
+        long detail = admitted.get(TrafficClass.DETAIL).sum();
+        long interactive = admitted.get(TrafficClass.INTERACTIVE).sum();
+        // 사용량은 줄지 않으므로, 하위 등급이 받은 합계는 그 등급 상한을 넘을 수 없음
+        assertThat(prefetch).isLessThanOrEqualTo(PREFETCH_CEILING);
+        assertThat(prefetch + detail).isLessThanOrEqualTo(DETAIL_CEILING);
+        assertThat(prefetch + detail + interactive).isEqualTo(tracker.getUsedToday());
+        assertThat(tracker.getUsedToday()).isLessThanOrEqualTo(LIMIT);
+        // 비용 1짜리 요청이 충분히 많아 마지막까지 채워짐
+        assertThat(tracker.getUsedToday()).isEqualTo(LIMIT);
+        for (TrafficClass c : TrafficClass.values()) {
+            assertThat(tracker.getShedCounts().get(c)).as("shed %s", c).isEqualTo(refused.get(c).sum());
+        }
+    }
+
+    @Test
+    void eachClassStopsExactlyAtItsCeiling() throws InterruptedException {
+        assertThat(fillConcurrently(TrafficClass.PREFETCH)).isEqualTo(PREFETCH_CEILING);
+        assertThat(tracker.getUsedToday()).isEqualTo(PREFETCH_CEILING);
+        assertThat(fillConcurrently(TrafficClass.DETAIL)).isEqualTo(DETAIL_CEILING - PREFETCH_CEILING);
+        assertThat(tracker.getUsedToday()).isEqualTo(DETAIL_CEILING);
+        assertThat(fillConcurrently(TrafficClass.INTERACTIVE)).isEqualTo(LIMIT - DETAIL_CEILING);
+        assertThat(tracker.getUsedToday()).isEqualTo(LIMIT);
+        // 가득 찬 뒤에는 어느 등급도 통과 못 함
+        for (TrafficClass c : TrafficClass.values()) {
+            assertThat(tracker.tryReserve(Method.VIDEOS_LIST, c)).isNull();
+        }
+    }
+
+    @Test
+    void concurrentRefundsRestoreExactUsage() throws InterruptedException {
+        ConcurrentLinkedQueue<Reservation> kept = new ConcurrentLinkedQueue<>();
+        AtomicLong refundedCost = new AtomicLong();
+
+        // 한도 근처에서 예약·환불이 섞임 (환불된 만큼 다른 스레드가 다시 예약)
+        runConcurrently(i -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int n = 0; n < 5_000; n++) {
+                TrafficClass c = TrafficClass.values()[random.nextInt(TrafficClass.values().length)];
+                Reservation r = tracker.tryReserve(random.nextInt(4) == 0 ? Method.SEARCH : Method.VIDEOS_LIST, c);
+                if (r == null) continue;
+                if (random.nextBoolean()) {
+                    tracker.refund(r);
+                    refundedCost.addAndGet(r.cost());
+                } else {
+                    kept.add(r);
+                }
+            }
+        });
+
+        long keptCost = kept.stream().mapToLong(Reservation::cost).sum();
+        assertThat(tracker.getUsedToday()).isEqualTo(keptCost);
+        assertThat(tracker.getUsedToday()).isLessThanOrEqualTo(LIMIT);
+        assertThat(refundedCost.get()).isPositive();
+
+        // 남은 예약을 모두 동시에 환불하면 정확히 0
+        List<Reservation> all = new ArrayList<>(kept);
+        runConcurrently(i -> {
+            for (int n = i; n < all.size(); n += THREADS) tracker.refund(all.get(n));
+        });
+        assertThat(tracker.getUsedToday()).isZero();
+        // 이미 0이면 더 내려가지 않음
+        tracker.refund(new Reservation(today(), 100, Method.SEARCH, TrafficClass.INTERACTIVE));
+        assertThat(tracker.getUsedToday()).isZero();
+    }
+
+    @Test
+    void dayRolloverResetsUsageExactly() throws InterruptedException {
+        clock.set(ZonedDateTime.of(2026, 3, 1, 23, 59, 59, 0, SEOUL).toInstant());
+        assertThat(fillConcurrently(TrafficClass.INTERACTIVE)).isEqualTo(LIMIT);
+        Reservation yesterday = new Reservation(today(), Method.SEARCH.getCost(), Method.SEARCH, TrafficClass.INTERACTIVE);
+        assertThat(tracker.tryReserve(Method.VIDEOS_LIST, TrafficClass.INTERACTIVE)).isNull();
+
+        // Asia/Seoul 0시가 지나면 새 날 예산 (UTC로는 아직 3월 1일)
+        clock.set(ZonedDateTime.of(2026, 3, 2, 0, 0, 1, 0, SEOUL).toInstant());
+        assertThat(tracker.getUsedToday()).isZero();
+        assertThat(fillConcurrently(TrafficClass.INTERACTIVE)).isEqualTo(LIMIT);
+        assertThat(tracker.getUsedToday()).isEqualTo(LIMIT);
+
+        // 어제 예약을 환불해도 오늘 사용량은 그대로
+        tracker.refund(yesterday);
+        assertThat(tracker.getUsedToday()).isEqualTo(LIMIT);
+    }
+
+    @Test
+    void dayRolloverDuringContentionKeepsEachDayWithinBudget() throws InterruptedException {
+        clock.set(ZonedDateTime.of(2026, 3, 1, 23, 59, 0, 0, SEOUL).toInstant());
+        long day1 = today();
+        ConcurrentLinkedQueue<Reservation> granted = new ConcurrentLinkedQueue<>();
+        CountDownLatch halfway = new CountDownLatch(THREADS);
+
+        Thread flipper = new Thread(() -> {
+            try {
+                halfway.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            clock.set(ZonedDateTime.of(2026, 3, 2, 0, 0, 0, 0, SEOUL).toInstant());
+        });
+        flipper.start();
+        runConcurrently(i -> {
+            for (int n = 0; n < 3_000; n++) {
+                if (n == 1_500) halfway.countDown();
+                Reservation r = tracker.tryReserve(Method.VIDEOS_LIST, TrafficClass.INTERACTIVE);
+                if (r != null) granted.add(r);
+            }
+        });
+        flipper.join();
+
+        long day2 = today();
+        assertThat(day2).isEqualTo(day1 + 1);
+        long day1Cost = granted.stream().filter(r -> r.epochDay() == day1).mapToLong(Reservation::cost).sum();
+        long day2Cost = granted.stream().filter(r -> r.epochDay() == day2).mapToLong(Reservation::cost).sum();
+        assertThat(day1Cost).isLessThanOrEqualTo(LIMIT);
+        assertThat(day2Cost).isLessThanOrEqualTo(LIMIT);
+        assertThat(day1Cost + day2Cost).isEqualTo(granted.size());
+        // 새 날 사용량은 새 날짜로 받은 예약 합계와 정확히 같음 (전날 사용량이 섞이지 않음)
+        assertThat(tracker.getUsedToday()).isEqualTo(day2Cost);
+    }
+
+    @Test
+    void staleDayConsumeDoesNotOverwriteNewDay() {
+        // 자정 직전에 날짜를 계산한 호출이, 다른 스레드가 새 날을 기록한 뒤에 도착하는 순서를 그대로 재현
+        InMemoryQuotaLedger ledger = new InMemoryQuotaLedger();
+        long day1 = today();
+        long day2 = day1 + 1;
+        assertThat(ledger.tryConsume(YoutubeQuotaTracker.BUCKET, day2, 100, LIMIT)).isTrue();
+        assertThat(ledger.tryConsume(YoutubeQuotaTracker.BUCKET, day1, 1, LIMIT)).isFalse();
+        assertThat(ledger.used(YoutubeQuotaTracker.BUCKET, day2)).isEqualTo(100);
+        assertThat(ledger.tryConsume(YoutubeQuotaTracker.BUCKET, day2, 1, LIMIT)).isTrue();
+        assertThat(ledger.used(YoutubeQuotaTracker.BUCKET, day2)).isEqualTo(101);
+    }
+
+    @Test
+    void reservationRetriesOnNewDayWhenLedgerAlreadyRolledOver() {
+        // 장부는 이미 새 날, 트래커가 처음 읽은 시계는 전날 → 거절된 뒤 새 날짜로 다시 예약
+        QuotaLedger ledger = new InMemoryQuotaLedger();
+        long day1 = today();
+        ledger.tryConsume(YoutubeQuotaTracker.BUCKET, day1 + 1, 50, LIMIT);
+        Instant midnight = ZonedDateTime.of(2026, 3, 2, 0, 0, 0, 0, SEOUL).toInstant();
+        AtomicLong reads = new AtomicLong();
+        Clock flipping = new MutableClock(clock.instant()) {
+            @Override
+            public Instant instant() {
+                return reads.getAndIncrement() == 0 ? super.instant() : midnight;
+            }
+        };
+        YoutubeQuotaTracker rolling = new YoutubeQuotaTracker(ledger, flipping, LIMIT, 0.9, 0.6);
+
+        Reservation r = rolling.tryReserve(Method.VIDEOS_LIST, TrafficClass.INTERACTIVE);
+        assertThat(r).isNotNull();
+        assertThat(r.epochDay()).isEqualTo(day1 + 1);
+        assertThat(ledger.used(YoutubeQuotaTracker.BUCKET, day1 + 1)).isEqualTo(51);
+        assertThat(rolling.getShedCounts().get(TrafficClass.INTERACTIVE)).isZero();
+    }
+
+    /** 비용 1짜리로 한 등급을 동시에 채우고, 받은 합계를 반환 */
+    private long fillConcurrently(TrafficClass trafficClass) throws InterruptedException {
+        LongAdder admitted = new LongAdder();
+        runConcurrently(i -> {
+            for (int n = 0; n < LIMIT / THREADS + 200; n++) {
+                if (tracker.tryReserve(Method.VIDEOS_LIST, trafficClass) != null) admitted.increment();
+            }
+        });
+        return admitted.sum();
+    }
+
+    /** 스레드 THREADS개를 동시에 출발시켜 body(스레드 번호)를 실행하고 모두 끝날 때까지 기다림 */
+    private static void runConcurrently(IntConsumer body) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    body.accept(index);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) thread.join();
+        if (failure.get() != null) throw new AssertionError(failure.get());
+    }
+
+    private long today() {
+        return LocalDate.ofInstant(clock.instant(), SEOUL).toEpochDay();
+    }
+
+    /** 테스트가 시각을 바꿀 수 있는 시계 */
+    private static class MutableClock extends Clock {
+        private final AtomicReference<Instant> now;
+
+        MutableClock(Instant initial) {
+            this.now = new AtomicReference<>(initial);
+        }
+
+        void set(Instant instant) {
+            now.set(instant);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return SEOUL;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.get();
+        }
+    }
+}
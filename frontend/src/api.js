@@ -46,6 +46,21 @@ export async function getIngredients(abortSignal = null) {
   return parseJsonUtf8(res, url)
 }
 
+/**
+ * 재료 자동완성. 초성("ㄷㅈ")·입력 중인 글자("돼지고")도 매칭. 실패 시 빈 배열.
+ */
+export async function suggestIngredients(q, limit = 10, abortSignal = null) {
+  const params = new URLSearchParams({ q, limit: String(limit) })
+  const url = `${API_BASE}/ingredients/suggest?${params}`
+  try {
+    const res = await fetchWithTimeout(url, { headers: { Accept: 'application/json;charset=UTF-8' } }, FETCH_TIMEOUT_MS, abortSignal)
+    if (!res.ok) return []
+    return parseJsonUtf8(res, url)
+  } catch {
+    return []
+  }
+}
+
 export async function recommendRecipes({ ingredientIds, ingredientNames, strictOnly }, abortSignal = null) {
   const url = `${API_BASE}/recipes/recommend`
   const body = {}